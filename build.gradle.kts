@@ -10,6 +10,7 @@ plugins {
     id("org.springframework.boot") version "3.4.0"
     id("io.spring.dependency-management") version "1.1.6"
     id("io.sentry.jvm.gradle") version "5.3.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "hexlet.code"
@@ -25,10 +26,23 @@ application {
     mainClass.set("hexlet.code.AppApplication")
 }
 
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+        runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    }
+}
+
 configurations {
     compileOnly {
         extendsFrom(configurations.annotationProcessor.get())
     }
+    named("loadTestImplementation") {
+        extendsFrom(configurations.testImplementation.get())
+    }
+    named("loadTestRuntimeOnly") {
+        extendsFrom(configurations.testRuntimeOnly.get())
+    }
 }
 
 repositories {
@@ -50,6 +64,10 @@ dependencies {
     implementation("com.h2database:h2:2.2.224")
     implementation("org.postgresql:postgresql:42.7.2")
     implementation("org.openapitools:jackson-databind-nullable:0.2.6")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.flywaydb:flyway-database-postgresql")
 
     implementation("org.instancio:instancio-junit:5.2.0")
     implementation("net.javacrumbs.json-unit:json-unit-assertj:4.1.0")
@@ -80,6 +98,19 @@ tasks.test {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+val loadTest by tasks.registering(Test::class) {
+    description = "Boots the app on H2 and reports per-endpoint latency and throughput under a scripted load."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    testClassesDirs = sourceSets["loadTest"].output.classesDirs
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    useJUnitPlatform()
+    shouldRunAfter(tasks.test)
+    outputs.upToDateWhen { false }
+    System.getProperties()
+        .filterKeys { it.toString().startsWith("load.") }
+        .forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -89,6 +120,16 @@ tasks.jacocoTestReport {
     }
 }
 
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+}
+
 sentry {
     includeSourceContext.set(true)
     org = "avs-y7"
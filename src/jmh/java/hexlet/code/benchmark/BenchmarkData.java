@@ -0,0 +1,61 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Detached entity graphs shaped like the rows served by {@code GET /api/tasks}.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("user" + id + "@example.com")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    static Task task(long id, int labelCount) {
+        var labels = new HashSet<Label>();
+        LongStream.rangeClosed(1, labelCount)
+                .mapToObj(BenchmarkData::label)
+                .forEach(labels::add);
+        return Task.builder()
+                .id(id)
+                .index(id)
+                .name("Task " + id)
+                .description("Description of task " + id)
+                .createdAt(LocalDateTime.now())
+                .assignee(user(id))
+                .taskStatus(TaskStatus.builder().id(1L).name("Draft").slug("draft").build())
+                .labels(labels)
+                .build();
+    }
+
+    static Label label(long id) {
+        var label = new Label("label" + id);
+        label.setId(id);
+        return label;
+    }
+
+    static List<Task> tasks(int size, int labelCount) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> task(id, labelCount))
+                .toList();
+    }
+
+}
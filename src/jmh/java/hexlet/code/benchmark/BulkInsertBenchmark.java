@@ -0,0 +1,82 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.task.TaskCreateDto;
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Insert throughput of {@link TaskService#createAll} on H2, with and without JDBC batching.
+ * Every operation inserts a batch of tasks together with their {@code task_labels} rows.
+ */
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int TASKS_PER_OPERATION = 100;
+
+    private static final int LABELS_PER_TASK = 2;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private List<TaskCreateDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bulk-" + jdbcBatchSize
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql=WARN")
+                .run();
+        taskService = context.getBean(TaskService.class);
+
+        var labelIds = context.getBean(LabelRepository.class).findAll().stream()
+                .limit(LABELS_PER_TASK)
+                .map(Label::getId)
+                .toList();
+        var status = context.getBean(TaskStatusRepository.class).findAll().getFirst().getSlug();
+        batch = IntStream.range(0, TASKS_PER_OPERATION)
+                .mapToObj(i -> TaskCreateDto.builder()
+                        .title("Bulk task " + i)
+                        .status(status)
+                        .taskLabelIds(labelIds)
+                        .build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createBatch() {
+        return taskService.createAll(batch).created().size();
+    }
+
+}
@@ -0,0 +1,55 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.task.TaskResponseDto;
+import hexlet.code.dto.user.UserResponseDto;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Per-row cost of turning entities into response DTOs.
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"0", "3", "20"})
+    public int labelCount;
+
+    private final TaskMapper taskMapper = new TaskMapper(null, null);
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private Task task;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkData.task(1L, labelCount);
+        user = BenchmarkData.user(1L);
+    }
+
+    @Benchmark
+    public TaskResponseDto taskDomainTo() {
+        return taskMapper.domainTo(task);
+    }
+
+    @Benchmark
+    public UserResponseDto userDomainTo() {
+        return userMapper.domainTo(user);
+    }
+
+    @Benchmark
+    public List<Long> taskLabelIds() {
+        return task.getLabelIds();
+    }
+
+}
@@ -0,0 +1,95 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.AppCacheProperties;
+import hexlet.code.component.PrincipalCache;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.security.UserPermissionValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static hexlet.code.util.JwtUtils.USER_ID_CLAIM;
+
+/**
+ * Cost of {@code @userPermissionValidator.isOwner(#id)} with and without the {@code uid} claim.
+ * Without the claim the user is resolved through the principal cache; the repository stub
+ * stands in for the database, so cache misses are not representative of production latency.
+ */
+@State(Scope.Thread)
+public class PermissionBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    private static final long CACHE_SIZE = 1000;
+
+    private UserPermissionValidator validator;
+
+    private JwtAuthenticationToken withUidClaim;
+
+    private JwtAuthenticationToken withoutUidClaim;
+
+    @Setup
+    public void setUp() {
+        var properties = new AppCacheProperties();
+        properties.getPrincipal().setEnabled(true);
+        properties.getPrincipal().setTtl(Duration.ofMinutes(1));
+        properties.getPrincipal().setMaxSize(CACHE_SIZE);
+        var principalCache = new PrincipalCache(properties, new SimpleMeterRegistry());
+        validator = new UserPermissionValidator(userRepositoryStub(), principalCache);
+
+        var email = BenchmarkData.user(USER_ID).getEmail();
+        withUidClaim = authentication(jwt(email).claim(USER_ID_CLAIM, USER_ID).build());
+        withoutUidClaim = authentication(jwt(email).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean isOwnerFromClaim() {
+        SecurityContextHolder.getContext().setAuthentication(withUidClaim);
+        return validator.isOwner(USER_ID);
+    }
+
+    @Benchmark
+    public boolean isOwnerFromLookup() {
+        SecurityContextHolder.getContext().setAuthentication(withoutUidClaim);
+        return validator.isOwner(USER_ID);
+    }
+
+    private static Jwt.Builder jwt(String subject) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject);
+    }
+
+    private static JwtAuthenticationToken authentication(Jwt jwt) {
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+
+    private static UserRepository userRepositoryStub() {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findById".equals(method.getName())) {
+                        return Optional.of(BenchmarkData.user((Long) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+}
@@ -0,0 +1,45 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import hexlet.code.dto.task.TaskResponseDto;
+import hexlet.code.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Jackson serialization of a task listing page, as written by {@code GET /api/tasks}.
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final int LABELS_PER_TASK = 3;
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+
+    private List<TaskResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().findAndAddModules().build().writer();
+        var mapper = new TaskMapper(null, null);
+        page = BenchmarkData.tasks(size, LABELS_PER_TASK).stream()
+                .map(mapper::domainTo)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+}
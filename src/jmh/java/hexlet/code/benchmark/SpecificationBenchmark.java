@@ -0,0 +1,45 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.TaskSpecificationBuilder;
+import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.model.Task;
+import hexlet.code.search.TaskTextSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Cost of composing the filter specification for a listing request.
+ */
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    private final TaskSpecificationBuilder builder = new TaskSpecificationBuilder(new TaskTextSearch());
+
+    private TaskFilterDto emptyFilter;
+
+    private TaskFilterDto fullFilter;
+
+    @Setup
+    public void setUp() {
+        emptyFilter = new TaskFilterDto();
+        fullFilter = new TaskFilterDto();
+        fullFilter.setTitleCont("task");
+        fullFilter.setAssigneeId(1L);
+        fullFilter.setStatus("draft");
+        fullFilter.setLabelId(1L);
+    }
+
+    @Benchmark
+    public Specification<Task> buildEmpty() {
+        return builder.build(emptyFilter);
+    }
+
+    @Benchmark
+    public Specification<Task> buildFull() {
+        return builder.build(fullFilter).and(builder.withRankOrder(fullFilter));
+    }
+
+}
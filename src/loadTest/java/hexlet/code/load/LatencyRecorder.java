@@ -0,0 +1,77 @@
+package hexlet.code.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects request latencies per endpoint and summarises them into percentiles and throughput.
+ */
+final class LatencyRecorder {
+
+    private static final double P50 = 0.50;
+
+    private static final double P99 = 0.99;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean failed) {
+        var samples = samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples());
+        samples.latencies.add(latencyNanos);
+        if (failed) {
+            samples.errors.incrementAndGet();
+        }
+    }
+
+    void reset() {
+        samplesByEndpoint.clear();
+    }
+
+    List<EndpointStats> summarize(Duration elapsed) {
+        var seconds = elapsed.toNanos() / NANOS_PER_SECOND;
+        var result = new ArrayList<EndpointStats>();
+        samplesByEndpoint.forEach((endpoint, samples) -> {
+            var sorted = samples.latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            result.add(new EndpointStats(
+                    endpoint,
+                    sorted.length,
+                    samples.errors.get(),
+                    sorted.length / seconds,
+                    percentile(sorted, P50),
+                    percentile(sorted, P99)));
+        });
+        result.sort((left, right) -> left.endpoint().compareTo(right.endpoint()));
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / NANOS_PER_MILLI;
+    }
+
+    private static final class Samples {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong errors = new AtomicLong();
+
+    }
+
+    record EndpointStats(String endpoint, long requests, long errors, double throughputPerSecond,
+                         double p50Millis, double p99Millis) {
+    }
+
+}
@@ -0,0 +1,82 @@
+package hexlet.code.load;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import lombok.RequiredArgsConstructor;
+import org.instancio.Instancio;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds users, labels and tasks from the test models in a handful of batched saves.
+ * Every seeded user logs in with {@link #PASSWORD}.
+ */
+@RequiredArgsConstructor
+final class LoadDataSeeder {
+
+    static final String PASSWORD = "password";
+
+    private static final int MAX_LABELS_PER_TASK = 3;
+
+    private final ModelGenerator modelGenerator;
+
+    private final UserRepository userRepository;
+
+    private final TaskStatusRepository statusRepository;
+
+    private final LabelRepository labelRepository;
+
+    private final TaskRepository taskRepository;
+
+    SeededData seed(LoadProfile profile) {
+        var users = userRepository.saveAll(IntStream.range(0, profile.users())
+                .mapToObj(this::user)
+                .toList());
+        var labels = labelRepository.saveAll(IntStream.range(0, profile.labels())
+                .mapToObj(i -> new Label("load-label-" + i))
+                .toList());
+        var statuses = statusRepository.findAll();
+        var taskIds = taskRepository.saveAll(IntStream.range(0, profile.tasks())
+                        .mapToObj(i -> task(i, users, statuses, labels))
+                        .toList())
+                .stream()
+                .map(Task::getId)
+                .toList();
+        return new SeededData(users, statuses, labels, taskIds);
+    }
+
+    private User user(int i) {
+        var user = Instancio.of(modelGenerator.getUserModel()).create();
+        user.setEmail("load-user-" + i + "@example.com");
+        return user;
+    }
+
+    private Task task(int i, List<User> users, List<TaskStatus> statuses, List<Label> labels) {
+        var random = ThreadLocalRandom.current();
+        var task = Instancio.of(modelGenerator.getTaskModel()).create();
+        task.setIndex((long) i);
+        task.setName("Load task " + i);
+        task.setAssignee(users.get(random.nextInt(users.size())));
+        task.setTaskStatus(statuses.get(random.nextInt(statuses.size())));
+        var taskLabels = new HashSet<Label>();
+        random.ints(random.nextInt(MAX_LABELS_PER_TASK + 1), 0, labels.size())
+                .mapToObj(labels::get)
+                .forEach(taskLabels::add);
+        task.setLabels(taskLabels);
+        return task;
+    }
+
+    record SeededData(List<User> users, List<TaskStatus> statuses, List<Label> labels, List<Long> taskIds) {
+    }
+
+}
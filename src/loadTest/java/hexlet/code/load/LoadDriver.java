@@ -0,0 +1,193 @@
+package hexlet.code.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.User;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a weighted mix of login, listing, filtering and CRUD requests from a fixed number of workers.
+ * Each worker authenticates as one of the seeded users and only updates and deletes tasks it created itself,
+ * so concurrent writes never race on one task's version and every conflict shows up as an error.
+ */
+@RequiredArgsConstructor
+final class LoadDriver {
+
+    private static final int PERCENT = 100;
+
+    private static final int LOGIN_UNTIL = 5;
+
+    private static final int PAGE_UNTIL = 35;
+
+    private static final int FILTER_UNTIL = 60;
+
+    private static final int SHOW_UNTIL = 75;
+
+    private static final int CREATE_UNTIL = 87;
+
+    private static final int UPDATE_UNTIL = 95;
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int FILTER_KINDS = 3;
+
+    private static final int HTTP_OK = 200;
+
+    private static final int HTTP_REDIRECTION = 300;
+
+    private static final int HTTP_BAD_REQUEST = 400;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final URI baseUri;
+
+    private final LoadDataSeeder.SeededData data;
+
+    private final LatencyRecorder recorder;
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong nextIndex;
+
+    /**
+     * Runs the workers until the duration elapses; a worker that fails rethrows here, so the load test fails too.
+     *
+     * @param workers  number of concurrent workers
+     * @param duration how long the workers send requests
+     * @throws ExecutionException   when a worker failed
+     * @throws InterruptedException when interrupted while collecting the workers
+     */
+    void run(int workers, Duration duration) throws ExecutionException, InterruptedException {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var results = new ArrayList<Future<Void>>(workers);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < workers; i++) {
+                var user = data.users().get(i % data.users().size());
+                results.add(executor.submit(() -> {
+                    work(user, deadline);
+                    return null;
+                }));
+            }
+        }
+        for (var result : results) {
+            result.get();
+        }
+    }
+
+    private void work(User user, long deadline) throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        var created = new ArrayDeque<Long>();
+        var token = login(user);
+        while (System.nanoTime() < deadline) {
+            var roll = random.nextInt(PERCENT);
+            if (roll < LOGIN_UNTIL) {
+                token = login(user);
+            } else if (roll < PAGE_UNTIL) {
+                send("GET /api/tasks?limit", authorized(token, "/api/tasks?limit=" + PAGE_SIZE).GET());
+            } else if (roll < FILTER_UNTIL) {
+                send("GET /api/tasks?filter", authorized(token, "/api/tasks?" + randomFilter(random)).GET());
+            } else if (roll < SHOW_UNTIL) {
+                send("GET /api/tasks/{id}", authorized(token, "/api/tasks/" + randomTaskId(random)).GET());
+            } else if (roll < CREATE_UNTIL) {
+                create(token, user, random, created);
+            } else if (roll < UPDATE_UNTIL) {
+                if (!created.isEmpty()) {
+                    var body = json(Map.of("title", "Updated " + random.nextInt()));
+                    send("PUT /api/tasks/{id}", authorized(token, "/api/tasks/" + created.peek())
+                            .PUT(HttpRequest.BodyPublishers.ofString(body)));
+                }
+            } else if (!created.isEmpty()) {
+                send("DELETE /api/tasks/{id}", authorized(token, "/api/tasks/" + created.pop()).DELETE());
+            }
+        }
+    }
+
+    private String login(User user) throws IOException, InterruptedException {
+        var body = json(Map.of("username", user.getEmail(), "password", LoadDataSeeder.PASSWORD));
+        var request = HttpRequest.newBuilder(baseUri.resolve("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        var response = send("POST /api/login", request);
+        if (response.statusCode() < HTTP_OK || response.statusCode() >= HTTP_REDIRECTION) {
+            throw new IllegalStateException("Login as " + user.getEmail() + " failed with " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private void create(String token, User user, ThreadLocalRandom random, Deque<Long> created)
+            throws IOException, InterruptedException {
+        var status = data.statuses().get(random.nextInt(data.statuses().size()));
+        var label = randomLabel(random);
+        var body = json(Map.of(
+                "title", "Created by load test",
+                "index", nextIndex.incrementAndGet(),
+                "status", status.getSlug(),
+                "assignee_id", user.getId(),
+                "taskLabelIds", List.of(label.getId())));
+        var response = send("POST /api/tasks", authorized(token, "/api/tasks")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() < HTTP_BAD_REQUEST) {
+            created.push(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    private String randomFilter(ThreadLocalRandom random) {
+        var user = data.users().get(random.nextInt(data.users().size()));
+        var status = data.statuses().get(random.nextInt(data.statuses().size()));
+        return switch (random.nextInt(FILTER_KINDS)) {
+            case 0 -> "assigneeId=" + user.getId();
+            case 1 -> "status=" + status.getSlug() + "&labelId=" + randomLabel(random).getId();
+            default -> "titleCont=task&status=" + status.getSlug();
+        };
+    }
+
+    private Label randomLabel(ThreadLocalRandom random) {
+        return data.labels().get(random.nextInt(data.labels().size()));
+    }
+
+    private Long randomTaskId(ThreadLocalRandom random) {
+        return data.taskIds().get(random.nextInt(data.taskIds().size()));
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        var started = System.nanoTime();
+        try {
+            var response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - started, response.statusCode() >= HTTP_BAD_REQUEST);
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - started, true);
+            throw e;
+        }
+    }
+
+    private String json(Object value) throws IOException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+}
@@ -0,0 +1,34 @@
+package hexlet.code.load;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Size of the seeded data set and shape of the generated traffic, read from {@code load.*} system properties.
+ */
+record LoadProfile(int users, int labels, int tasks, int workers, Duration warmUp, Duration duration) {
+
+    private static final int DEFAULT_USERS = 50;
+
+    private static final int DEFAULT_LABELS = 20;
+
+    private static final int DEFAULT_TASKS = 2_000;
+
+    private static final int DEFAULT_WORKERS = 16;
+
+    private static final Duration DEFAULT_WARM_UP = Duration.ofSeconds(5);
+
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+
+    static LoadProfile from(Environment env) {
+        return new LoadProfile(
+                env.getProperty("load.users", Integer.class, DEFAULT_USERS),
+                env.getProperty("load.labels", Integer.class, DEFAULT_LABELS),
+                env.getProperty("load.tasks", Integer.class, DEFAULT_TASKS),
+                env.getProperty("load.workers", Integer.class, DEFAULT_WORKERS),
+                env.getProperty("load.warm-up", Duration.class, DEFAULT_WARM_UP),
+                env.getProperty("load.duration", Duration.class, DEFAULT_DURATION));
+    }
+
+}
@@ -0,0 +1,93 @@
+package hexlet.code.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on H2, seeds it and drives the scripted request mix over HTTP.
+ * Run with {@code ./gradlew loadTest}; sizes and durations are tuned with {@code -Dload.*} properties.
+ * The per-endpoint report is written to {@code build/reports/load/report.json}.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.jpa.show-sql=false",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.hibernate.type.descriptor.sql=WARN"
+        })
+public final class TaskApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    @DisplayName("Should serve the scripted request mix without errors")
+    void checkRequestMix() throws IOException, ExecutionException, InterruptedException {
+        var profile = LoadProfile.from(env);
+        var seeder = new LoadDataSeeder(modelGenerator, userRepository, statusRepository, labelRepository,
+                taskRepository);
+        var data = seeder.seed(profile);
+        var recorder = new LatencyRecorder();
+        var driver = new LoadDriver(URI.create("http://localhost:" + port), data, recorder, objectMapper,
+                new AtomicLong(profile.tasks()));
+
+        driver.run(profile.workers(), profile.warmUp());
+        recorder.reset();
+        var started = System.nanoTime();
+        driver.run(profile.workers(), profile.duration());
+        var stats = recorder.summarize(Duration.ofNanos(System.nanoTime() - started));
+
+        var report = Path.of(env.getProperty("load.report", "build/reports/load/report.json"));
+        Files.createDirectories(report.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), new LoadReport(profile, stats));
+
+        assertThat(stats).isNotEmpty()
+                .allSatisfy(endpoint -> assertThat(endpoint.errors()).as(endpoint.endpoint()).isZero());
+    }
+
+    record LoadReport(LoadProfile profile, List<LatencyRecorder.EndpointStats> endpoints) {
+    }
+
+}
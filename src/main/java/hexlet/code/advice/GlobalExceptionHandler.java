@@ -1,10 +1,16 @@
 package hexlet.code.advice;
 
 import hexlet.code.dto.ErrorDto;
+import hexlet.code.exception.BatchSizeExceededException;
+import hexlet.code.exception.EmptyFilterException;
+import hexlet.code.exception.InvalidCursorException;
+import hexlet.code.exception.LoginCapacityExceededException;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import org.h2.jdbc.JdbcSQLIntegrityConstraintViolationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -37,6 +43,41 @@ public final class GlobalExceptionHandler {
                 .body(ErrorDto.of("Resource not found", getErrorMessage(ex)));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorDto> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorDto.of("Invalid cursor", getErrorMessage(ex)));
+    }
+
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorDto> handleBatchSizeExceeded(BatchSizeExceededException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorDto.of("Batch too large", getErrorMessage(ex)));
+    }
+
+    @ExceptionHandler(EmptyFilterException.class)
+    public ResponseEntity<ErrorDto> handleEmptyFilter(EmptyFilterException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorDto.of("Filter required", getErrorMessage(ex)));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDto> handlePreconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ErrorDto.of("Precondition failed", getErrorMessage(ex)));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDto> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorDto.of("Conflict", "Resource was modified concurrently, reload it and retry"));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorDto> handleDataIntegrity(DataIntegrityViolationException ex) {
         var specific = ex.getMostSpecificCause();
@@ -68,6 +109,13 @@ public final class GlobalExceptionHandler {
                 .body(ErrorDto.of("Access denied", getErrorMessage(ex)));
     }
 
+    @ExceptionHandler(LoginCapacityExceededException.class)
+    public ResponseEntity<ErrorDto> handleLoginCapacityExceeded(LoginCapacityExceededException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ErrorDto.of("Too many requests", "Server is busy, retry later"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDto> handleUnexpectedError(Exception ex) {
         return ResponseEntity
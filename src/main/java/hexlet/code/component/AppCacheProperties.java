@@ -0,0 +1,34 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    private Spec count = new Spec();
+
+    private Spec principal = new Spec();
+
+    private Spec jwt = new Spec();
+
+    @Setter
+    @Getter
+    public static class Spec {
+
+        private boolean enabled;
+
+        private Duration ttl;
+
+        private long maxSize;
+
+    }
+
+}
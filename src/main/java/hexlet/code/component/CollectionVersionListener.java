@@ -0,0 +1,28 @@
+package hexlet.code.component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Bumps the {@link CollectionVersions} counter of an entity type whenever one of its entities is written.
+ * Instantiated by Hibernate through the Spring bean container, hence the lazy reference to the counters.
+ */
+public class CollectionVersionListener {
+
+    private final CollectionVersions collectionVersions;
+
+    public CollectionVersionListener(@Lazy CollectionVersions versions) {
+        collectionVersions = versions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void bump(Object entity) {
+        collectionVersions.bump(Hibernate.getClass(entity));
+    }
+
+}
@@ -0,0 +1,57 @@
+package hexlet.code.component;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory change counters per entity type, used as ETags of list responses.
+ * Counters are bumped after the writing transaction completes, so a tag never describes uncommitted data,
+ * and are prefixed with the start time of this instance, so tags issued before a restart never match again.
+ * Bumped by {@link CollectionVersionListener} and by the services for bulk statements.
+ */
+@Component
+public final class CollectionVersions {
+
+    private static final int RADIX = 36;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), RADIX);
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void bump(Class<?> type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counter(type).incrementAndGet();
+                }
+            });
+            return;
+        }
+        counter(type).incrementAndGet();
+    }
+
+    /**
+     * Tag that changes whenever an entity of any of the given types changes.
+     *
+     * @param types entity types the response is built from
+     * @return ETag value without quotes
+     */
+    public String tag(Class<?>... types) {
+        return Arrays.stream(types)
+                .map(type -> Long.toString(counter(type).get(), RADIX))
+                .collect(Collectors.joining(".", epoch + "-", ""));
+    }
+
+    private AtomicLong counter(Class<?> type) {
+        return versions.computeIfAbsent(type, key -> new AtomicLong());
+    }
+
+}
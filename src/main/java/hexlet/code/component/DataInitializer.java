@@ -27,6 +27,8 @@ public final class DataInitializer implements ApplicationRunner {
 
     private final LabelRepository labelRepository;
 
+    private final ReferenceDataCache referenceDataCache;
+
     @Override
     public void run(ApplicationArguments args) {
         try {
@@ -52,6 +54,7 @@ public final class DataInitializer implements ApplicationRunner {
                     .peek(System.out::println)
                     .forEach(labelRepository::save);
 
+            referenceDataCache.warmUp();
         } catch (Exception e) {
             throw new ApplicationInitializationException("Failed to init data: %s".formatted(e.getMessage()), e);
         }
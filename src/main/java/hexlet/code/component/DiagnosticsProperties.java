@@ -0,0 +1,21 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.diagnostics")
+public class DiagnosticsProperties {
+
+    /**
+     * Minimum time a virtual thread must stay pinned to its carrier before it is reported.
+     */
+    private Duration pinningThreshold;
+
+}
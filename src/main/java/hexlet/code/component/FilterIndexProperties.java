@@ -0,0 +1,20 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.filter-index")
+public class FilterIndexProperties {
+
+    /**
+     * Answers assignee, status and label filters of task listings from in-memory bitmaps.
+     * Only safe when every task write goes through the task service.
+     */
+    private boolean enabled;
+
+}
@@ -0,0 +1,50 @@
+package hexlet.code.component;
+
+import hexlet.code.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for password verification, so that login storms cannot occupy every request thread.
+ * Submissions beyond the queue capacity fail fast with {@link LoginCapacityExceededException}.
+ * Deliberately not an {@link java.util.concurrent.Executor} bean, to keep Boot's application executor in place.
+ */
+@Component
+public final class LoginExecutor {
+
+    private final ExecutorService executor;
+
+    public LoginExecutor(PasswordProperties properties, MeterRegistry meterRegistry) {
+        var threads = properties.getLoginThreads();
+        var pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getLoginQueueCapacity()),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "login");
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new LoginCapacityExceededException("Login queue is full", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+}
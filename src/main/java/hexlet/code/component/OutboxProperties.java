@@ -0,0 +1,32 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Events read, published and deleted in one transaction.
+     */
+    private int batchSize;
+
+    /**
+     * Delay between the end of one drain of the outbox and the start of the next one.
+     */
+    private Duration pollInterval;
+
+    /**
+     * File the events are appended to as JSON lines; no file sink is registered when unset.
+     */
+    private Path file;
+
+}
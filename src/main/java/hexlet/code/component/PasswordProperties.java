@@ -0,0 +1,23 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password hashing cost and the limits of the pool that verifies logins.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.password")
+public class PasswordProperties {
+
+    private int bcryptStrength;
+
+    private int loginThreads;
+
+    private int loginQueueCapacity;
+
+}
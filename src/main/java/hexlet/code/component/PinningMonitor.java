@@ -0,0 +1,98 @@
+package hexlet.code.component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Listens to {@code jdk.VirtualThreadPinned} JFR events and groups them by stack trace,
+ * so blocking calls made while holding a monitor show up at {@code /actuator/pinning}.
+ * Only active when virtual threads are enabled.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public final class PinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_FRAMES = 12;
+
+    private final Map<String, PinnedStack> pinnedStacks = new ConcurrentHashMap<>();
+
+    private final DiagnosticsProperties properties;
+
+    private RecordingStream recording;
+
+    public PinningMonitor(DiagnosticsProperties diagnosticsProperties) {
+        properties = diagnosticsProperties;
+    }
+
+    @PostConstruct
+    void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT)
+                .withThreshold(properties.getPinningThreshold())
+                .withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        recording.close();
+    }
+
+    @ReadOperation
+    public List<PinnedStack> report() {
+        return pinnedStacks.values().stream()
+                .sorted(Comparator.comparingLong(PinnedStack::count).reversed())
+                .toList();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var stackTrace = describe(event);
+        pinnedStacks.merge(stackTrace, new PinnedStack(stackTrace, 1, event.getDuration()), PinnedStack::add);
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (isNull(event.getStackTrace())) {
+            return "<no stack trace>";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(PinningMonitor::describe)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return "%s.%s:%d".formatted(method.getType().getName(), method.getName(), frame.getLineNumber());
+    }
+
+    public record PinnedStack(String stackTrace, long count, Duration maxDuration) {
+
+        PinnedStack add(PinnedStack other) {
+            var max = maxDuration.compareTo(other.maxDuration) >= 0 ? maxDuration : other.maxDuration;
+            return new PinnedStack(stackTrace, count + other.count, max);
+        }
+
+    }
+
+}
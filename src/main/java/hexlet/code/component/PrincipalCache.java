@@ -0,0 +1,71 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email and by id.
+ * Evicted by {@link PrincipalCacheListener}; when disabled every lookup goes to the loader.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, User> usersByEmail;
+
+    private final Cache<Long, User> usersById;
+
+    public PrincipalCache(AppCacheProperties properties, MeterRegistry meterRegistry) {
+        var spec = properties.getPrincipal();
+        if (!spec.isEnabled()) {
+            usersByEmail = null;
+            usersById = null;
+            return;
+        }
+        usersByEmail = build(spec);
+        usersById = build(spec);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "principal-by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "principal-by-id");
+    }
+
+    public Optional<User> getByEmail(String email, Function<String, Optional<User>> loader) {
+        if (isNull(usersByEmail)) {
+            return loader.apply(email);
+        }
+        return Optional.ofNullable(usersByEmail.get(email, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<User> getById(Long id, Function<Long, Optional<User>> loader) {
+        if (isNull(usersById)) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(usersById.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void evict(User user) {
+        if (isNull(usersById)) {
+            return;
+        }
+        var id = user.getId();
+        usersById.invalidate(id);
+        usersByEmail.invalidate(user.getEmail());
+        usersByEmail.asMap().values().removeIf(cached -> id.equals(cached.getId()));
+    }
+
+    private static <K> Cache<K, User> build(AppCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build();
+    }
+
+}
@@ -0,0 +1,38 @@
+package hexlet.code.component;
+
+import hexlet.code.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts users from {@link PrincipalCache} whenever they are updated or removed. The entry is evicted
+ * again once the transaction completes, so a lookup that re-cached the old row before commit does not
+ * keep serving it.
+ * Instantiated by Hibernate through the Spring bean container, hence the lazy reference to the cache.
+ */
+public class PrincipalCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheListener(@Lazy PrincipalCache cache) {
+        principalCache = cache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        principalCache.evict(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principalCache.evict(user);
+                }
+            });
+        }
+    }
+
+}
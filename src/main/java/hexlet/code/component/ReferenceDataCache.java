@@ -0,0 +1,100 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * In-memory slug to status and id to label lookup for task writes.
+ * Warmed up at startup, filled on misses and evicted by {@link ReferenceDataCacheListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private static final String METRIC_NAME = "reference.cache.requests";
+
+    private final Map<String, TaskStatus> statusesBySlug = new ConcurrentHashMap<>();
+
+    private final Map<Long, Label> labelsById = new ConcurrentHashMap<>();
+
+    private final TaskStatusRepository statusRepository;
+
+    private final LabelRepository labelRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    public void warmUp() {
+        statusesBySlug.clear();
+        labelsById.clear();
+        statusRepository.findAll().forEach(status -> statusesBySlug.put(status.getSlug(), status));
+        labelRepository.findAll().forEach(label -> labelsById.put(label.getId(), label));
+    }
+
+    public Optional<TaskStatus> getStatusBySlug(String slug) {
+        var cached = statusesBySlug.get(slug);
+        if (nonNull(cached)) {
+            countRequests("status", "hit", 1);
+            return Optional.of(cached);
+        }
+        countRequests("status", "miss", 1);
+        var loaded = statusRepository.findBySlug(slug);
+        loaded.ifPresent(status -> statusesBySlug.put(slug, status));
+        return loaded;
+    }
+
+    public Set<Label> getLabelsByIds(List<Long> ids) {
+        if (isNull(ids)) {
+            return Collections.emptySet();
+        }
+        var labels = new HashSet<Label>();
+        var missingIds = new ArrayList<Long>();
+        for (var id : ids) {
+            var cached = labelsById.get(id);
+            if (nonNull(cached)) {
+                labels.add(cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        countRequests("label", "hit", labels.size());
+        if (!missingIds.isEmpty()) {
+            countRequests("label", "miss", missingIds.size());
+            labelRepository.findAllById(missingIds).forEach(label -> {
+                labelsById.put(label.getId(), label);
+                labels.add(label);
+            });
+        }
+        return labels;
+    }
+
+    public void evict(TaskStatus status) {
+        statusesBySlug.values().removeIf(cached -> Objects.equals(cached.getId(), status.getId()));
+    }
+
+    public void evict(Label label) {
+        labelsById.remove(label.getId());
+    }
+
+    private void countRequests(String cache, String result, int count) {
+        meterRegistry.counter(METRIC_NAME, "cache", cache, "result", result).increment(count);
+    }
+
+}
@@ -0,0 +1,53 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts statuses and labels from {@link ReferenceDataCache} whenever they are updated or removed,
+ * whether through the services or directly through the repositories.
+ * Instantiated by Hibernate through the Spring bean container while the entity manager factory is being built,
+ * hence the lazy reference to the cache and its repositories.
+ */
+public class ReferenceDataCacheListener {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public ReferenceDataCacheListener(@Lazy ReferenceDataCache cache) {
+        referenceDataCache = cache;
+    }
+
+    /**
+     * Evicts at flush and again once the transaction completes, so a miss that reloaded the old row
+     * from another transaction before commit does not stay cached.
+     *
+     * @param entity updated or removed entity
+     */
+    @PostUpdate
+    @PostRemove
+    public void evict(Object entity) {
+        evictNow(entity);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(entity);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Object entity) {
+        if (entity instanceof TaskStatus status) {
+            referenceDataCache.evict(status);
+        } else if (entity instanceof Label label) {
+            referenceDataCache.evict(label);
+        }
+    }
+
+}
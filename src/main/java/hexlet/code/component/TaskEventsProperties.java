@@ -0,0 +1,34 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Limits of the server-sent task change feed.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.task-events")
+public class TaskEventsProperties {
+
+    /**
+     * Events buffered per subscriber; a subscriber that falls further behind is disconnected.
+     */
+    private int bufferSize;
+
+    /**
+     * Time after which a connection is closed and the client is expected to reconnect.
+     */
+    private Duration timeout;
+
+    /**
+     * Idle time after which a comment is sent to keep the connection open and detect gone clients.
+     */
+    private Duration heartbeat;
+
+}
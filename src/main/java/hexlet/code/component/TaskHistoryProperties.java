@@ -0,0 +1,31 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "app.task-history")
+public class TaskHistoryProperties {
+
+    /**
+     * Entries inserted in one transaction.
+     */
+    private int batchSize;
+
+    /**
+     * Delay between flushes of the buffered entries.
+     */
+    private Duration flushInterval;
+
+    /**
+     * Entries buffered in memory; when the buffer is full new entries are dropped and counted.
+     */
+    private int queueCapacity;
+
+}
@@ -2,35 +2,80 @@ package hexlet.code.component;
 
 import hexlet.code.dto.task.TaskFilterDto;
 import hexlet.code.model.Task;
+import hexlet.code.search.TaskTextSearch;
 import jakarta.persistence.criteria.JoinType;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+
 import static java.util.Objects.isNull;
 
 @Component
+@RequiredArgsConstructor
 public final class TaskSpecificationBuilder {
 
+    private final TaskTextSearch textSearch;
+
     public Specification<Task> build(TaskFilterDto filter) {
         return withTitleContains(filter.getTitleCont())
                 .and(withAssignee(filter.getAssigneeId()))
                 .and(withStatus(filter.getStatus()))
-                .and(withLabel(filter.getLabelId()));
+                .and(withLabel(filter.getLabelId()))
+                .and(withText(filter.getQ()));
+    }
+
+    /**
+     * Orders tasks by relevance to the {@code q} text, most relevant first, then by id.
+     * Leaves the order unset when the filter has no text.
+     *
+     * @param filter filter
+     * @return specification without predicates
+     */
+    public Specification<Task> withRankOrder(TaskFilterDto filter) {
+        return (root, query, cb) -> {
+            if (isNull(filter.getQ())) {
+                return cb.conjunction();
+            }
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(cb.desc(textSearch.rank(root, cb, filter.getQ())), cb.asc(root.get("id")));
+            }
+            return cb.conjunction();
+        };
+    }
+
+    public Specification<Task> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public Specification<Task> withIdAfter(Long lastId) {
+        return (root, query, cb) ->
+                isNull(lastId)
+                        ? cb.conjunction()
+                        : cb.greaterThan(root.get("id"), lastId);
     }
 
     private Specification<Task> withTitleContains(String substring) {
         return ((root, query, cb) ->
                 isNull(substring)
                         ? cb.conjunction()
-                        : cb.like(cb.lower(root.get("name")), "%" + substring.toLowerCase() + "%"));
+                        : textSearch.titleContains(root, cb, substring));
 
     }
 
+    private Specification<Task> withText(String text) {
+        return (root, query, cb) ->
+                isNull(text)
+                        ? cb.conjunction()
+                        : textSearch.matches(root, cb, text);
+    }
+
     private Specification<Task> withAssignee(Long assigneeId) {
         return (root, query, cb) ->
                 isNull(assigneeId)
                         ? cb.conjunction()
-                        : cb.equal(root.join("assignee").get("id"), assigneeId);
+                        : cb.equal(root.get("assignee").get("id"), assigneeId);
     }
 
     private Specification<Task> withStatus(String statusSlug) {
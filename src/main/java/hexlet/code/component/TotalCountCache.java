@@ -0,0 +1,69 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Short-TTL cache of X-Total-Count values of paged listings, keyed by entity type and filter.
+ * Entries are invalidated after the writing transaction completes, so a count read by a concurrent request
+ * before commit does not stay cached. When disabled every lookup goes straight to the count query.
+ */
+@Component
+public final class TotalCountCache {
+
+    private final Cache<Key, Long> cache;
+
+    public TotalCountCache(AppCacheProperties properties, MeterRegistry meterRegistry) {
+        var spec = properties.getCount();
+        if (!spec.isEnabled()) {
+            cache = null;
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "total-count");
+    }
+
+    public long get(Class<?> type, Object filter, LongSupplier counter) {
+        if (isNull(cache)) {
+            return counter.getAsLong();
+        }
+        return cache.get(new Key(type, filter), key -> counter.getAsLong());
+    }
+
+    public void invalidate(Class<?> type) {
+        if (isNull(cache)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(type);
+                }
+            });
+            return;
+        }
+        evict(type);
+    }
+
+    private void evict(Class<?> type) {
+        cache.asMap().keySet().removeIf(key -> key.type().equals(type));
+    }
+
+    private record Key(Class<?> type, Object filter) {
+    }
+
+}
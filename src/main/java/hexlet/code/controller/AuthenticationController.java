@@ -1,6 +1,8 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.LoginExecutor;
 import hexlet.code.dto.user.AuthRequestDto;
+import hexlet.code.model.User;
 import hexlet.code.util.JwtUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(("/api"))
 @RequiredArgsConstructor
@@ -20,14 +24,17 @@ public final class AuthenticationController {
 
     private final AuthenticationManager authenticationManager;
 
+    private final LoginExecutor loginExecutor;
+
     @PostMapping("/login")
-    public String create(@RequestBody @Valid AuthRequestDto authRequest) {
+    public CompletableFuture<String> create(@RequestBody @Valid AuthRequestDto authRequest) {
         var authentication = new UsernamePasswordAuthenticationToken(
                 authRequest.getUsername(), authRequest.getPassword());
 
-        authenticationManager.authenticate(authentication);
-
-        return jwtUtils.generateToken(authRequest.getUsername());
+        return loginExecutor.submit(() -> {
+            var principal = (User) authenticationManager.authenticate(authentication).getPrincipal();
+            return jwtUtils.generateToken(principal);
+        });
     }
 
 }
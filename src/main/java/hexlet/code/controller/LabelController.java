@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -39,7 +40,10 @@ public final class LabelController {
     }
 
     @GetMapping("/labels")
-    public ResponseEntity<List<LabelResponseDto>> index() {
+    public ResponseEntity<List<LabelResponseDto>> index(WebRequest request) {
+        if (request.checkNotModified(labelService.getListETag())) {
+            return null;
+        }
         var labels = labelService.getAll();
         var labelDtos = labels.stream()
                 .map(labelMapper::domainTo)
@@ -50,8 +54,12 @@ public final class LabelController {
     }
 
     @GetMapping("/labels/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public LabelResponseDto show(@PathVariable Long id) {
+    public LabelResponseDto show(@PathVariable Long id, WebRequest request) {
+        var etag = labelService.getETag(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Label with id=%s not found".formatted(id)));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return labelService.getById(id)
                 .map(labelMapper::domainTo)
                 .orElseThrow(() -> new ResourceNotFoundException("Label with id=%s not found".formatted(id)));
@@ -1,28 +1,49 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskBatchErrorDto;
+import hexlet.code.dto.task.TaskBatchResponseDto;
+import hexlet.code.dto.task.TaskBulkResultDto;
+import hexlet.code.dto.task.TaskBulkUpdateDto;
 import hexlet.code.dto.task.TaskCreateDto;
 import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.dto.task.TaskHistoryDto;
+import hexlet.code.dto.task.TaskPatchDto;
 import hexlet.code.dto.task.TaskResponseDto;
 import hexlet.code.dto.task.TaskUpdateDto;
+import hexlet.code.event.TaskEventBroadcaster;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.repository.projection.TaskVersion;
+import hexlet.code.service.TaskHistoryService;
 import hexlet.code.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import static java.util.Objects.isNull;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
@@ -30,8 +51,14 @@ public final class TaskController {
 
     private final TaskService taskService;
 
+    private final TaskHistoryService historyService;
+
     private final TaskMapper taskMapper;
 
+    private final ObjectMapper objectMapper;
+
+    private final TaskEventBroadcaster eventBroadcaster;
+
     @PostMapping("/tasks")
     @ResponseStatus(HttpStatus.CREATED)
     public TaskResponseDto create(@Valid @RequestBody TaskCreateDto createDto) {
@@ -39,25 +66,138 @@ public final class TaskController {
         return taskMapper.domainTo(newTask);
     }
 
+    /**
+     * Creates up to {@link TaskService#MAX_BATCH_SIZE} tasks at once. Responds with 201 when every item was created
+     * and with 207 when some items were rejected; rejected items are listed with their position in the request.
+     *
+     * @param createDtos tasks to create
+     * @return created tasks and the errors of rejected items
+     */
+    @PostMapping("/tasks/batch")
+    public ResponseEntity<TaskBatchResponseDto> createAll(@RequestBody List<TaskCreateDto> createDtos) {
+        var result = taskService.createAll(createDtos);
+        var body = TaskBatchResponseDto.builder()
+                .created(result.created().stream().map(taskMapper::domainTo).toList())
+                .errors(result.errors().entrySet().stream()
+                        .map(error -> TaskBatchErrorDto.of(error.getKey(), error.getValue()))
+                        .toList())
+                .build();
+        return ResponseEntity
+                .status(result.errors().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(body);
+    }
+
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskResponseDto>> index(TaskFilterDto filterDto) {
-        var tasks = taskService.getAll(filterDto);
-        var taskDtos = tasks.stream()
-                .map(taskMapper::domainTo)
+    public ResponseEntity<List<TaskResponseDto>> index(TaskFilterDto filterDto,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String after,
+                                                       WebRequest request) {
+        if (request.checkNotModified(taskService.getListETag())) {
+            return null;
+        }
+        if (isNull(limit) && isNull(after)) {
+            var taskDtos = taskService.getRows(filterDto).stream()
+                    .map(taskMapper::rowTo)
+                    .toList();
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(taskDtos.size()))
+                    .body(taskDtos);
+        }
+
+        var page = taskService.getPage(filterDto, after, limit);
+        var taskDtos = page.getItems().stream()
+                .map(taskMapper::rowTo)
                 .toList();
+        var response = ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(taskService.count(filterDto)));
+        page.getNextCursor().ifPresent(cursor -> response.header("X-Next-Cursor", cursor));
+        return response.body(taskDtos);
+    }
+
+    /**
+     * Typeahead search over task names and descriptions served from the in-memory index.
+     *
+     * @param q     search text, the last word matches as a prefix
+     * @param limit requested number of tasks, or null for the default one
+     * @return matching tasks, most relevant first
+     */
+    @GetMapping("/tasks/search")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskResponseDto> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return taskService.search(q, limit).stream()
+                .map(taskMapper::rowTo)
+                .toList();
+    }
+
+    /**
+     * Server-sent feed of committed task changes matching the filter, so clients can stop polling the listing.
+     *
+     * @param filterDto filter the sent changes must match
+     * @return emitter streaming the matching changes
+     */
+    @GetMapping(value = "/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(TaskFilterDto filterDto) {
+        return eventBroadcaster.subscribe(filterDto);
+    }
+
+    @GetMapping(value = "/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(TaskFilterDto filterDto) {
+        var writer = objectMapper.writerFor(TaskResponseDto.class);
+        StreamingResponseBody body = output -> taskService.streamAll(filterDto, row -> {
+            try {
+                output.write(writer.writeValueAsBytes(taskMapper.rowTo(row)));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(taskDtos.size()))
-                .body(taskDtos);
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
-    @GetMapping("/tasks/{id}")
+    @PatchMapping("/tasks")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskBulkResultDto updateAll(TaskFilterDto filterDto, @Valid @RequestBody TaskBulkUpdateDto updateDto) {
+        return TaskBulkResultDto.of(taskService.updateAll(filterDto, updateDto));
+    }
+
+    @DeleteMapping("/tasks")
     @ResponseStatus(HttpStatus.OK)
-    public TaskResponseDto show(@PathVariable Long id) {
+    public TaskBulkResultDto deleteAll(TaskFilterDto filterDto) {
+        return TaskBulkResultDto.of(taskService.deleteAll(filterDto));
+    }
+
+    @GetMapping("/tasks/{id}")
+    public TaskResponseDto show(@PathVariable Long id, WebRequest request) {
+        var etag = taskService.getETag(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task with id=%s not found".formatted(id)));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return taskService.getById(id)
                 .map(taskMapper::domainTo)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id=%s not found".formatted(id)));
     }
 
+    /**
+     * Field-level change history of a task, newest first, paged with the {@code X-Next-Cursor} header.
+     *
+     * @param id    task id
+     * @param limit requested page size, or null for the default one
+     * @param after cursor from {@code X-Next-Cursor} of the previous page, or null for the first page
+     * @return history entries of the page
+     */
+    @GetMapping("/tasks/{id}/history")
+    public ResponseEntity<List<TaskHistoryDto>> history(@PathVariable Long id,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String after) {
+        var page = historyService.getPage(id, after, limit);
+        var response = ResponseEntity.ok();
+        page.getNextCursor().ifPresent(cursor -> response.header("X-Next-Cursor", cursor));
+        return response.body(page.getItems().stream().map(taskMapper::historyTo).toList());
+    }
+
     @PutMapping("/tasks/{id}")
     @ResponseStatus(HttpStatus.OK)
     public TaskResponseDto update(@PathVariable Long id, @Valid @RequestBody TaskUpdateDto updateDto) {
@@ -66,6 +206,26 @@ public final class TaskController {
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id=%s not found".formatted(id)));
     }
 
+    /**
+     * Partial update of a task. Responds with 412 when {@code If-Match} does not match the current ETag
+     * and with 409 when a concurrent write could not be merged.
+     *
+     * @param id       task id
+     * @param patchDto fields to replace and label ids to add or remove
+     * @param ifMatch  ETag the task must still have, or null to merge label changes over concurrent writes
+     * @return the updated task with its new ETag
+     */
+    @PatchMapping("/tasks/{id}")
+    public ResponseEntity<TaskResponseDto> patch(@PathVariable Long id,
+                                                 @Valid @RequestBody TaskPatchDto patchDto,
+                                                 @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        var task = taskService.patch(id, patchDto, ifMatch)
+                .orElseThrow(() -> new ResourceNotFoundException("Task with id=%s not found".formatted(id)));
+        return ResponseEntity.ok()
+                .eTag(TaskVersion.of(task).toTag())
+                .body(taskMapper.domainTo(task));
+    }
+
     @DeleteMapping("/tasks/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
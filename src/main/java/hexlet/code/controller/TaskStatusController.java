@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -39,7 +40,10 @@ public final class TaskStatusController {
     }
 
     @GetMapping("/task_statuses")
-    public ResponseEntity<List<StatusResponseDto>> index() {
+    public ResponseEntity<List<StatusResponseDto>> index(WebRequest request) {
+        if (request.checkNotModified(service.getListETag())) {
+            return null;
+        }
         var statuses = service.getAll();
         var statusDtos = statuses.stream()
                 .map(mapper::domainTo)
@@ -50,8 +54,12 @@ public final class TaskStatusController {
     }
 
     @GetMapping("/task_statuses/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public StatusResponseDto show(@PathVariable Long id) {
+    public StatusResponseDto show(@PathVariable Long id, WebRequest request) {
+        var etag = service.getETag(id)
+                .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with id=%d not found".formatted(id)));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return service.getById(id)
                 .map(mapper::domainTo)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with id=%d not found".formatted(id)));
@@ -20,6 +20,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
@@ -34,8 +35,10 @@ public class UserController {
     private final UserMapper userMapper;
 
     @GetMapping("/users")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<UserResponseDto>> index() {
+    public ResponseEntity<List<UserResponseDto>> index(WebRequest request) {
+        if (request.checkNotModified(userService.getListETag())) {
+            return null;
+        }
         var users = userService.getAll();
         var userDtos = users.stream()
                 .map(userMapper::domainTo)
@@ -53,8 +56,12 @@ public class UserController {
     }
 
     @GetMapping("/users/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public UserResponseDto show(@PathVariable Long id) {
+    public UserResponseDto show(@PathVariable Long id, WebRequest request) {
+        var etag = userService.getETag(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User with id=%d not found".formatted(id)));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return userService.getById(id)
                 .map(userMapper::domainTo)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id=%d not found".formatted(id)));
@@ -0,0 +1,24 @@
+package hexlet.code.dto.task;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Reasons why the item at {@code position} of a batch request was not created.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskBatchErrorDto {
+
+    private final int position;
+
+    private final List<String> details;
+
+    public static TaskBatchErrorDto of(int position, List<String> details) {
+        return new TaskBatchErrorDto(position, details);
+    }
+
+}
@@ -0,0 +1,17 @@
+package hexlet.code.dto.task;
+
+import hexlet.code.dto.base.ResponseDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class TaskBatchResponseDto extends ResponseDto {
+
+    private List<TaskResponseDto> created;
+
+    private List<TaskBatchErrorDto> errors;
+
+}
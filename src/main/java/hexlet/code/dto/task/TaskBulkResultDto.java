@@ -0,0 +1,18 @@
+package hexlet.code.dto.task;
+
+import hexlet.code.dto.base.ResponseDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskBulkResultDto extends ResponseDto {
+
+    private final int affected;
+
+    public static TaskBulkResultDto of(int affected) {
+        return new TaskBulkResultDto(affected);
+    }
+
+}
@@ -0,0 +1,30 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import hexlet.code.dto.base.UpdateDto;
+import lombok.Builder;
+import lombok.Setter;
+
+import java.util.Optional;
+
+/**
+ * Values applied to every task matched by a bulk PATCH; absent fields are left unchanged.
+ */
+@Setter
+@Builder
+public final class TaskBulkUpdateDto extends UpdateDto {
+
+    @JsonProperty("assignee_id")
+    private Long assigneeId;
+
+    private String status;
+
+    public Optional<Long> getAssigneeId() {
+        return Optional.ofNullable(assigneeId);
+    }
+
+    public Optional<String> getStatus() {
+        return Optional.ofNullable(status);
+    }
+
+}
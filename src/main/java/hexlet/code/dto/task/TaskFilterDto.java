@@ -1,8 +1,14 @@
 package hexlet.code.dto.task;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.Setter;
+
+import static java.util.Objects.isNull;
 
 @Getter
+@Setter
+@EqualsAndHashCode
 public class TaskFilterDto {
 
     private String titleCont;
@@ -13,4 +19,10 @@ public class TaskFilterDto {
 
     private Long labelId;
 
+    private String q;
+
+    public boolean isEmpty() {
+        return isNull(titleCont) && isNull(assigneeId) && isNull(status) && isNull(labelId) && isNull(q);
+    }
+
 }
@@ -0,0 +1,30 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import hexlet.code.dto.base.ResponseDto;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class TaskHistoryDto extends ResponseDto {
+
+    private Long id;
+
+    private String changedBy;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime changedAt;
+
+    /**
+     * Changed fields as stored, {@code {"field": [old, new]}} and {@code {"labels": {"removed", "added"}}}.
+     */
+    @JsonRawValue
+    private String changes;
+
+}
@@ -0,0 +1,101 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import hexlet.code.dto.base.UpdateDto;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Builder;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static hexlet.code.dto.task.TaskCreateDto.LABEL_NULL_ERROR_MESSAGE;
+import static java.util.Objects.nonNull;
+
+/**
+ * Partial update of a single task. Besides replacing fields it can add and remove labels
+ * without sending the whole label list.
+ */
+@Setter
+@Builder
+public final class TaskPatchDto extends UpdateDto {
+
+    @Pattern(regexp = ".*\\S.*", message = "The name should not consist only of spaces")
+    private String title;
+
+    private Long index;
+
+    private String content;
+
+    @JsonProperty("assignee_id")
+    private Long assigneeId;
+
+    private String status;
+
+    private List<@NotNull(message = LABEL_NULL_ERROR_MESSAGE) Long> labelIds;
+
+    private List<@NotNull(message = LABEL_NULL_ERROR_MESSAGE) Long> addLabelIds;
+
+    private List<@NotNull(message = LABEL_NULL_ERROR_MESSAGE) Long> removeLabelIds;
+
+    public Optional<String> getTitle() {
+        return Optional.ofNullable(title);
+    }
+
+    public Optional<Long> getIndex() {
+        return Optional.ofNullable(index);
+    }
+
+    public Optional<String> getContent() {
+        return Optional.ofNullable(content);
+    }
+
+    public Optional<Long> getAssigneeId() {
+        return Optional.ofNullable(assigneeId);
+    }
+
+    public Optional<String> getStatus() {
+        return Optional.ofNullable(status);
+    }
+
+    public Optional<List<Long>> getLabelIds() {
+        return Optional.ofNullable(labelIds);
+    }
+
+    public Optional<List<Long>> getAddLabelIds() {
+        return Optional.ofNullable(addLabelIds);
+    }
+
+    public Optional<List<Long>> getRemoveLabelIds() {
+        return Optional.ofNullable(removeLabelIds);
+    }
+
+    /**
+     * Whether the patch only adds or removes labels. Such a change does not depend on what the client
+     * has seen, so it can be reapplied on top of a concurrent write instead of failing with a conflict.
+     *
+     * @return true when no field is replaced and some label ids are added or removed
+     */
+    @JsonIgnore
+    public boolean isCommutative() {
+        var replacesFields = Stream.of(title, index, content, assigneeId, status, labelIds)
+                .anyMatch(Objects::nonNull);
+        return !replacesFields && (nonNull(addLabelIds) || nonNull(removeLabelIds));
+    }
+
+    public TaskUpdateDto toUpdateDto() {
+        return TaskUpdateDto.builder()
+                .title(title)
+                .index(index)
+                .content(content)
+                .assigneeId(assigneeId)
+                .status(status)
+                .labelIds(labelIds)
+                .build();
+    }
+
+}
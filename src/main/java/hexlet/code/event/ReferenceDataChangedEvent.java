@@ -0,0 +1,30 @@
+package hexlet.code.event;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Published by the label and status services when a label or a status is saved or deleted.
+ *
+ * @param type  kind of the changed resource, e.g. {@code label}
+ * @param id    resource id
+ * @param state response representation of the saved resource, or null if it was deleted
+ */
+public record ReferenceDataChangedEvent(String type, Long id, Object state) {
+
+    public static final String LABEL = "label";
+
+    public static final String TASK_STATUS = "task_status";
+
+    public static ReferenceDataChangedEvent saved(String type, Long id, Object state) {
+        return new ReferenceDataChangedEvent(type, id, state);
+    }
+
+    public static ReferenceDataChangedEvent removed(String type, Long id) {
+        return new ReferenceDataChangedEvent(type, id, null);
+    }
+
+    public boolean isRemoved() {
+        return isNull(state);
+    }
+
+}
@@ -0,0 +1,38 @@
+package hexlet.code.event;
+
+import hexlet.code.model.Task;
+import hexlet.code.repository.projection.TaskSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Published by the task service when tasks are created, updated or deleted.
+ * Listeners that keep derived state should react after commit.
+ *
+ * @param saved      created or updated tasks
+ * @param removedIds ids of deleted tasks
+ * @param previous   state before the change of updated and deleted tasks by id, absent for created ones
+ */
+public record TaskChangedEvent(List<TaskSnapshot> saved, List<Long> removedIds, Map<Long, TaskSnapshot> previous) {
+
+    public static TaskChangedEvent ofCreated(Collection<Task> tasks) {
+        return new TaskChangedEvent(tasks.stream().map(TaskSnapshot::of).toList(), List.of(), Map.of());
+    }
+
+    public static TaskChangedEvent ofUpdated(Collection<TaskSnapshot> before, Collection<Task> tasks) {
+        return new TaskChangedEvent(tasks.stream().map(TaskSnapshot::of).toList(), List.of(), byId(before));
+    }
+
+    public static TaskChangedEvent ofRemoved(Collection<Long> ids, Collection<TaskSnapshot> before) {
+        return new TaskChangedEvent(List.of(), List.copyOf(ids), byId(before));
+    }
+
+    public static Map<Long, TaskSnapshot> byId(Collection<TaskSnapshot> snapshots) {
+        return snapshots.stream().collect(Collectors.toUnmodifiableMap(TaskSnapshot::id, Function.identity()));
+    }
+
+}
@@ -0,0 +1,207 @@
+package hexlet.code.event;
+
+import hexlet.code.component.TaskEventsProperties;
+import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.repository.projection.TaskSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Pushes committed task changes to {@code text/event-stream} subscribers. Every subscriber gets a bounded
+ * queue drained by its own virtual thread, so writers never wait on a client socket; a subscriber whose
+ * queue overflows is disconnected and has to reconnect and reload.
+ * Emits {@code task-saved} with the task when it matches the subscriber filter and {@code task-removed}
+ * with the id when a task that matched before was deleted or no longer matches; changes to tasks the
+ * subscriber never matched are not sent at all.
+ */
+@Component
+public final class TaskEventBroadcaster {
+
+    public static final String SAVED_EVENT = "task-saved";
+
+    public static final String REMOVED_EVENT = "task-removed";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("task-events-", 0).factory();
+
+    private final TaskEventsProperties properties;
+
+    private final TaskMapper taskMapper;
+
+    private final Counter droppedSubscribers;
+
+    public TaskEventBroadcaster(TaskEventsProperties eventsProperties, TaskMapper mapper, MeterRegistry meterRegistry) {
+        properties = eventsProperties;
+        taskMapper = mapper;
+        droppedSubscribers = meterRegistry.counter("task.events.dropped");
+        meterRegistry.gaugeCollectionSize("task.events.subscribers", List.of(), subscribers);
+    }
+
+    public SseEmitter subscribe(TaskFilterDto filterDto) {
+        var emitter = new SseEmitter(properties.getTimeout().toMillis());
+        var subscriber = new Subscriber(filterDto, emitter, new ArrayBlockingQueue<>(properties.getBufferSize()));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        threadFactory.newThread(subscriber::drain).start();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (var subscriber : subscribers) {
+            var filter = subscriber.filter();
+            for (var task : event.saved()) {
+                if (matches(filter, task)) {
+                    offer(subscriber, saved(task));
+                } else if (matchedBefore(filter, event, task.id())) {
+                    offer(subscriber, removed(task.id()));
+                }
+            }
+            for (var id : event.removedIds()) {
+                if (matchedBefore(filter, event, id)) {
+                    offer(subscriber, removed(id));
+                }
+            }
+        }
+    }
+
+    private static boolean matchedBefore(TaskFilterDto filter, TaskChangedEvent event, Long id) {
+        var previous = event.previous().get(id);
+        return nonNull(previous) && matches(filter, previous);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        if (!subscriber.queue().offer(message) && subscriber.close()) {
+            droppedSubscribers.increment();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder saved(TaskSnapshot task) {
+        return SseEmitter.event()
+                .name(SAVED_EVENT)
+                .data(taskMapper.snapshotTo(task), MediaType.APPLICATION_JSON);
+    }
+
+    private static SseEmitter.SseEventBuilder removed(Long id) {
+        return SseEmitter.event()
+                .name(REMOVED_EVENT)
+                .data(Map.of("id", id), MediaType.APPLICATION_JSON);
+    }
+
+    static boolean matches(TaskFilterDto filter, TaskSnapshot task) {
+        if (nonNull(filter.getAssigneeId()) && !filter.getAssigneeId().equals(task.assigneeId())) {
+            return false;
+        }
+        if (nonNull(filter.getStatus()) && !filter.getStatus().equals(task.statusSlug())) {
+            return false;
+        }
+        if (nonNull(filter.getLabelId()) && !task.labelIds().contains(filter.getLabelId())) {
+            return false;
+        }
+        var name = lower(task.name());
+        if (nonNull(filter.getTitleCont()) && !name.contains(lower(filter.getTitleCont()))) {
+            return false;
+        }
+        if (isNull(filter.getQ())) {
+            return true;
+        }
+        var text = name + " " + lower(task.description());
+        return Arrays.stream(lower(filter.getQ()).split("\\W+"))
+                .filter(word -> !word.isEmpty())
+                .allMatch(text::contains);
+    }
+
+    private static String lower(String value) {
+        return isNull(value) ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private final class Subscriber {
+
+        private final TaskFilterDto filter;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+
+        private volatile boolean closed;
+
+        Subscriber(TaskFilterDto filterDto, SseEmitter sseEmitter, BlockingQueue<SseEmitter.SseEventBuilder> events) {
+            filter = filterDto;
+            emitter = sseEmitter;
+            queue = events;
+        }
+
+        TaskFilterDto filter() {
+            return filter;
+        }
+
+        BlockingQueue<SseEmitter.SseEventBuilder> queue() {
+            return queue;
+        }
+
+        /**
+         * Marks the subscriber closed; its thread completes the emitter after the send in progress.
+         *
+         * @return whether this call closed the subscriber
+         */
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            subscribers.remove(this);
+            return true;
+        }
+
+        void drain() {
+            var heartbeat = properties.getHeartbeat().toMillis();
+            try {
+                while (!closed) {
+                    var message = queue.poll(heartbeat, TimeUnit.MILLISECONDS);
+                    if (closed) {
+                        break;
+                    }
+                    emitter.send(isNull(message) ? SseEmitter.event().comment("heartbeat") : message);
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package hexlet.code.exception;
+
+public class BatchSizeExceededException extends RuntimeException {
+
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+
+}
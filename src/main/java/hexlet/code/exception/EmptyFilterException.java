@@ -0,0 +1,9 @@
+package hexlet.code.exception;
+
+public class EmptyFilterException extends RuntimeException {
+
+    public EmptyFilterException(String message) {
+        super(message);
+    }
+
+}
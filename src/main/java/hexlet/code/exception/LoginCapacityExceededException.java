@@ -0,0 +1,9 @@
+package hexlet.code.exception;
+
+public class LoginCapacityExceededException extends RuntimeException {
+
+    public LoginCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,86 @@
+package hexlet.code.history;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Accumulates the fields changed by one task write. A field set several times keeps its first old value,
+ * and a field set back to its old value is not a change. Labels are reduced to the ids removed and added,
+ * so an entry stays small for tasks with many labels.
+ */
+public final class TaskChanges {
+
+    public static final String TITLE = "title";
+
+    public static final String INDEX = "index";
+
+    public static final String CONTENT = "content";
+
+    public static final String ASSIGNEE_ID = "assignee_id";
+
+    public static final String STATUS = "status";
+
+    public static final String LABELS = "labels";
+
+    private final Map<String, Object> before = new LinkedHashMap<>();
+
+    private final Map<String, Object> after = new LinkedHashMap<>();
+
+    public void record(String field, Object oldValue, Object newValue) {
+        if (!before.containsKey(field)) {
+            before.put(field, oldValue);
+        }
+        after.put(field, newValue);
+    }
+
+    public void recordLabels(Collection<Long> oldIds, Collection<Long> newIds) {
+        record(LABELS, sorted(oldIds), sorted(newIds));
+    }
+
+    public boolean isEmpty() {
+        return diff().isEmpty();
+    }
+
+    /**
+     * Changed fields as {@code field -> [old, new]}, and labels as {@code labels -> {removed, added}}.
+     *
+     * @return changed fields in the order they were first recorded
+     */
+    public Map<String, Object> diff() {
+        var diff = new LinkedHashMap<String, Object>();
+        after.forEach((field, newValue) -> {
+            var oldValue = before.get(field);
+            if (Objects.equals(oldValue, newValue)) {
+                return;
+            }
+            if (LABELS.equals(field)) {
+                diff.put(field, labelsDiff((List<?>) oldValue, (List<?>) newValue));
+            } else {
+                diff.put(field, Arrays.asList(oldValue, newValue));
+            }
+        });
+        return diff;
+    }
+
+    private static Map<String, List<?>> labelsDiff(List<?> oldIds, List<?> newIds) {
+        var diff = new LinkedHashMap<String, List<?>>();
+        var removed = oldIds.stream().filter(id -> !newIds.contains(id)).toList();
+        var added = newIds.stream().filter(id -> !oldIds.contains(id)).toList();
+        if (!removed.isEmpty()) {
+            diff.put("removed", removed);
+        }
+        if (!added.isEmpty()) {
+            diff.put("added", added);
+        }
+        return diff;
+    }
+
+    private static List<Long> sorted(Collection<Long> ids) {
+        return ids.stream().distinct().sorted().toList();
+    }
+
+}
@@ -0,0 +1,189 @@
+package hexlet.code.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.TaskHistoryProperties;
+import hexlet.code.model.TaskHistoryEntry;
+import hexlet.code.repository.TaskHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Buffers task history entries in memory once their change has committed and inserts them in batches
+ * on a schedule, so requests do not wait for the history insert. A batch that fails to insert goes back
+ * to the head of the buffer and is retried by the next flush. Entries that do not fit into a full buffer
+ * are dropped and counted in {@code task.history.dropped} rather than failing the committed request.
+ * Entries still buffered when the application stops are flushed on shutdown; a crash loses at most one
+ * flush interval of history.
+ */
+@Slf4j
+@Component
+public final class TaskHistoryWriter {
+
+    public static final String TRUNCATED = "truncated";
+
+    private final BlockingDeque<TaskHistoryEntry> queue;
+
+    private final TaskHistoryRepository repository;
+
+    private final TaskHistoryProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter droppedEntries;
+
+    public TaskHistoryWriter(TaskHistoryRepository historyRepository, TaskHistoryProperties historyProperties,
+                             ObjectMapper mapper, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        repository = historyRepository;
+        properties = historyProperties;
+        objectMapper = mapper;
+        queue = new LinkedBlockingDeque<>(historyProperties.getQueueCapacity());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        droppedEntries = meterRegistry.counter("task.history.dropped");
+        meterRegistry.gaugeCollectionSize("task.history.buffered", List.of(), queue);
+    }
+
+    /**
+     * Records the changes of a task by the current user. Inside a transaction the entry is buffered
+     * only after commit, so a rolled back write leaves no history.
+     *
+     * @param taskId  changed task
+     * @param changes changed fields, nothing is recorded when empty
+     */
+    public void record(Long taskId, TaskChanges changes) {
+        recordAll(Map.of(taskId, changes));
+    }
+
+    /**
+     * Records the changes of several tasks made by one write, e.g. a bulk update.
+     *
+     * @param changesByTaskId changed fields per task id
+     */
+    public void recordAll(Map<Long, TaskChanges> changesByTaskId) {
+        var changedBy = currentUser();
+        var changedAt = LocalDateTime.now();
+        var entries = changesByTaskId.entrySet().stream()
+                .filter(changes -> !changes.getValue().isEmpty())
+                .map(changes -> TaskHistoryEntry.builder()
+                        .taskId(changes.getKey())
+                        .changedBy(changedBy)
+                        .changedAt(changedAt)
+                        .changes(toJson(changes.getValue()))
+                        .build())
+                .toList();
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach(TaskHistoryWriter.this::enqueue);
+                }
+            });
+            return;
+        }
+        entries.forEach(this::enqueue);
+    }
+
+    /**
+     * Inserts every buffered entry, {@code batchSize} entries per transaction. Stops at the first batch
+     * that fails and puts it back, so the next flush retries it.
+     *
+     * @return number of inserted entries
+     */
+    @Scheduled(fixedDelayString = "#{@taskHistoryProperties.flushInterval}")
+    public synchronized int flush() {
+        var total = 0;
+        var batch = new ArrayList<TaskHistoryEntry>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(batch));
+            } catch (RuntimeException e) {
+                log.warn("Cannot insert {} task history entries, retrying on the next flush", batch.size(), e);
+                requeue(batch);
+                return total;
+            }
+            total += batch.size();
+            batch.clear();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void enqueue(TaskHistoryEntry entry) {
+        if (!queue.offer(entry)) {
+            droppedEntries.increment();
+            log.warn("Task history buffer is full, dropped the entry of task {}", entry.getTaskId());
+        }
+    }
+
+    /**
+     * Puts a failed batch back at the head in its original order. Ids assigned by the rolled back insert
+     * are cleared so the retry persists the entries as new; entries that no longer fit are dropped.
+     *
+     * @param batch entries drained by the failed flush, in queue order
+     */
+    private void requeue(List<TaskHistoryEntry> batch) {
+        for (var i = batch.size() - 1; i >= 0; i--) {
+            var entry = batch.get(i);
+            entry.setId(null);
+            if (!queue.offerFirst(entry)) {
+                droppedEntries.increment();
+            }
+        }
+    }
+
+    /**
+     * Serializes the diff; a diff longer than the column keeps only the names of the changed fields
+     * as {@code {"truncated": [field, ...]}}, so one oversized write cannot block the batch it lands in.
+     *
+     * @param changes changed fields
+     * @return JSON that fits into {@link TaskHistoryEntry#CHANGES_LENGTH}
+     */
+    private String toJson(TaskChanges changes) {
+        try {
+            var diff = changes.diff();
+            var json = objectMapper.writeValueAsString(diff);
+            if (json.length() <= TaskHistoryEntry.CHANGES_LENGTH) {
+                return json;
+            }
+            return objectMapper.writeValueAsString(Map.of(TRUNCATED, diff.keySet()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize task changes", e);
+        }
+    }
+
+    private static String currentUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return isNull(authentication) ? null : authentication.getName();
+    }
+
+}
@@ -1,19 +1,25 @@
 package hexlet.code.mapper;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.task.TaskCreateDto;
+import hexlet.code.dto.task.TaskHistoryDto;
 import hexlet.code.dto.task.TaskResponseDto;
 import hexlet.code.dto.task.TaskUpdateDto;
 import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.history.TaskChanges;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskHistoryEntry;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
-import hexlet.code.service.LabelService;
-import hexlet.code.service.TaskStatusService;
+import hexlet.code.repository.projection.TaskRow;
+import hexlet.code.repository.projection.TaskSnapshot;
 import hexlet.code.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,19 +27,34 @@ public final class TaskMapper extends AbstractMapper<Task, TaskCreateDto, TaskUp
 
     private final UserService userService;
 
-    private final TaskStatusService taskStatusService;
-
-    private final LabelService labelService;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public Task toDomain(TaskCreateDto dto) {
+        return toDomain(
+                dto,
+                findStatusBySlug(dto.getStatus()),
+                dto.getAssigneeId().map(this::findUserById).orElse(null),
+                dto.getTaskLabelIds().map(referenceDataCache::getLabelsByIds).orElse(Collections.emptySet()));
+    }
+
+    /**
+     * Builds a task from relations that were already resolved by the caller, e.g. once for a whole batch.
+     *
+     * @param dto      task fields
+     * @param status   resolved status
+     * @param assignee resolved assignee, or null
+     * @param labels   resolved labels
+     * @return new unsaved task
+     */
+    public Task toDomain(TaskCreateDto dto, TaskStatus status, User assignee, Set<Label> labels) {
         return Task.builder()
                 .name(dto.getTitle())
                 .index(dto.getIndex())
                 .description(dto.getContent())
-                .taskStatus(findStatusBySlug(dto.getStatus()))
-                .assignee(dto.getAssigneeId().map(this::findUserById).orElse(null))
-                .labels(dto.getTaskLabelIds().map(labelService::getAllByIds).orElse(Collections.emptySet()))
+                .taskStatus(status)
+                .assignee(assignee)
+                .labels(labels)
                 .build();
     }
 
@@ -51,14 +72,84 @@ public final class TaskMapper extends AbstractMapper<Task, TaskCreateDto, TaskUp
                 .build();
     }
 
+    public TaskResponseDto rowTo(TaskRow row) {
+        return TaskResponseDto.builder()
+                .id(row.id())
+                .index(row.index())
+                .createdAt(row.createdAt())
+                .assigneeId(row.assigneeId())
+                .title(row.name())
+                .content(row.description())
+                .status(row.statusSlug())
+                .taskLabelIds(row.labelIds())
+                .build();
+    }
+
+    /**
+     * Response for a task change event; the snapshot carries no index and creation time.
+     *
+     * @param snapshot committed state of the task
+     * @return task response without index and creation time
+     */
+    public TaskResponseDto snapshotTo(TaskSnapshot snapshot) {
+        return TaskResponseDto.builder()
+                .id(snapshot.id())
+                .assigneeId(snapshot.assigneeId())
+                .title(snapshot.name())
+                .content(snapshot.description())
+                .status(snapshot.statusSlug())
+                .taskLabelIds(snapshot.labelIds())
+                .build();
+    }
+
+    public TaskHistoryDto historyTo(TaskHistoryEntry entry) {
+        return TaskHistoryDto.builder()
+                .id(entry.getId())
+                .changedBy(entry.getChangedBy())
+                .changedAt(entry.getChangedAt())
+                .changes(entry.getChanges())
+                .build();
+    }
+
     @Override
     public Task update(Task task, TaskUpdateDto dto) {
-        dto.getTitle().ifPresent(task::setName);
-        dto.getIndex().ifPresent(task::setIndex);
-        dto.getContent().ifPresent(task::setDescription);
-        dto.getAssigneeId().ifPresent(userId -> task.setAssignee(findUserById(userId)));
-        dto.getStatus().ifPresent(statusSlug -> task.setTaskStatus(findStatusBySlug(statusSlug)));
-        dto.getLabelIds().ifPresent(labelIds -> task.setLabels(labelService.getAllByIds(labelIds)));
+        return update(task, dto, new TaskChanges());
+    }
+
+    /**
+     * Applies the present fields of {@code dto} and records the ones whose value actually changes.
+     *
+     * @param task    task to update
+     * @param dto     new values, absent fields are kept
+     * @param changes receives the changed fields
+     * @return the updated task
+     */
+    public Task update(Task task, TaskUpdateDto dto, TaskChanges changes) {
+        dto.getTitle().ifPresent(name -> {
+            changes.record(TaskChanges.TITLE, task.getName(), name);
+            task.setName(name);
+        });
+        dto.getIndex().ifPresent(index -> {
+            changes.record(TaskChanges.INDEX, task.getIndex(), index);
+            task.setIndex(index);
+        });
+        dto.getContent().ifPresent(description -> {
+            changes.record(TaskChanges.CONTENT, task.getDescription(), description);
+            task.setDescription(description);
+        });
+        dto.getAssigneeId().ifPresent(userId -> {
+            changes.record(TaskChanges.ASSIGNEE_ID, task.getAssigneeId(), userId);
+            task.setAssignee(findUserById(userId));
+        });
+        dto.getStatus().ifPresent(statusSlug -> {
+            changes.record(TaskChanges.STATUS, task.getStatusSlug(), statusSlug);
+            task.setTaskStatus(findStatusBySlug(statusSlug));
+        });
+        dto.getLabelIds().ifPresent(labelIds -> {
+            var oldLabelIds = task.getLabelIds();
+            task.setLabels(referenceDataCache.getLabelsByIds(labelIds));
+            changes.recordLabels(oldLabelIds, task.getLabelIds());
+        });
         return task;
     }
 
@@ -68,7 +159,7 @@ public final class TaskMapper extends AbstractMapper<Task, TaskCreateDto, TaskUp
     }
 
     private TaskStatus findStatusBySlug(String slug) {
-        return taskStatusService.getBySlug(slug)
+        return referenceDataCache.getStatusBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with slug=%s not found".formatted(slug)));
     }
 
@@ -0,0 +1,14 @@
+package hexlet.code.model;
+
+/**
+ * Sequence settings shared by all entities. Ids are taken from per-table sequences with a pooled optimizer,
+ * so Hibernate reserves {@link #ALLOCATION_SIZE} ids per round trip and can batch inserts.
+ */
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+
+}
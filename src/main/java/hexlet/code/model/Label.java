@@ -1,12 +1,16 @@
 package hexlet.code.model;
 
+import hexlet.code.component.CollectionVersionListener;
+import hexlet.code.component.ReferenceDataCacheListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -23,14 +27,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, ReferenceDataCacheListener.class, CollectionVersionListener.class})
 @Table(name = "labels")
 public final class Label implements BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "labels_seq")
+    @SequenceGenerator(
+            name = "labels_seq",
+            sequenceName = "labels_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(unique = true, nullable = false)
     @EqualsAndHashCode.Include
     private String name;
@@ -0,0 +1,68 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change of a task, label or status recorded in the transaction that made it, waiting to be published.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "outbox_events")
+public final class OutboxEvent implements BaseEntity {
+
+    public static final int TYPE_LENGTH = 32;
+
+    public static final int PAYLOAD_LENGTH = 8000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(
+            name = "outbox_events_seq",
+            sequenceName = "outbox_events_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false, length = TYPE_LENGTH)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = TYPE_LENGTH)
+    private String eventType;
+
+    @Column(nullable = false, length = PAYLOAD_LENGTH)
+    private String payload;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{id=%d, aggregateType=%s, aggregateId=%d, eventType=%s, createdAt=%s}"
+                .formatted(id, aggregateType, aggregateId, eventType, createdAt);
+    }
+
+}
@@ -1,5 +1,6 @@
 package hexlet.code.model;
 
+import hexlet.code.component.CollectionVersionListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -7,11 +8,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -34,14 +37,21 @@ import static java.util.Objects.nonNull;
 @Builder
 @AllArgsConstructor
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CollectionVersionListener.class})
 @Table(name = "tasks")
 public final class Task implements BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(
+            name = "tasks_seq",
+            sequenceName = "tasks_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -80,6 +90,13 @@ public final class Task implements BaseEntity {
         return taskStatus.getSlug();
     }
 
+    public Long getStatusId() {
+        if (isNull(taskStatus)) {
+            throw new IllegalStateException("Task status not set");
+        }
+        return taskStatus.getId();
+    }
+
     public List<Long> getLabelIds() {
         return nonNull(labels)
                 ? labels.stream().map(Label::getId).toList()
@@ -0,0 +1,58 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fields of a task changed by one write, as JSON {@code {"field": [old, new]}}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "task_history")
+public final class TaskHistoryEntry implements BaseEntity {
+
+    public static final int CHANGES_LENGTH = 8000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_history_seq")
+    @SequenceGenerator(
+            name = "task_history_seq",
+            sequenceName = "task_history_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long taskId;
+
+    @Column(updatable = false)
+    private String changedBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    @Column(nullable = false, updatable = false, length = CHANGES_LENGTH)
+    private String changes;
+
+    @Override
+    public String toString() {
+        return "TaskHistoryEntry{id=%d, taskId=%d, changedBy=%s, changedAt=%s}"
+                .formatted(id, taskId, changedBy, changedAt);
+    }
+
+}
@@ -1,12 +1,16 @@
 package hexlet.code.model;
 
+import hexlet.code.component.CollectionVersionListener;
+import hexlet.code.component.ReferenceDataCacheListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -26,14 +30,21 @@ import java.time.LocalDateTime;
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, ReferenceDataCacheListener.class, CollectionVersionListener.class})
 @Table(name = "task_statuses")
 public final class TaskStatus implements BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_statuses_seq")
+    @SequenceGenerator(
+            name = "task_statuses_seq",
+            sequenceName = "task_statuses_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(unique = true, nullable = false)
     private String name;
 
@@ -1,9 +1,13 @@
 package hexlet.code.model;
 
+import hexlet.code.component.CollectionVersionListener;
+import hexlet.code.component.PrincipalCacheListener;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
@@ -30,14 +34,21 @@ import java.util.List;
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PrincipalCacheListener.class, CollectionVersionListener.class})
 @Table(name = "users")
 public final class User implements UserDetails, BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(
+            name = "users_seq",
+            sequenceName = "users_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     private String firstName;
 
     private String lastName;
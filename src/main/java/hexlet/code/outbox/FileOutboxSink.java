@@ -0,0 +1,45 @@
+package hexlet.code.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends outbox events to {@code app.outbox.file} as JSON lines, one line per event.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "file")
+public final class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(OutboxProperties properties, ObjectMapper mapper) {
+        file = properties.getFile();
+        objectMapper = mapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (var message : messages) {
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
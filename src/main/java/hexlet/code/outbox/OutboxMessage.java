@@ -0,0 +1,33 @@
+package hexlet.code.outbox;
+
+import hexlet.code.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox event handed to an {@link OutboxSink}, detached from the persistence context.
+ *
+ * @param id            unique event id, lets consumers drop duplicates of an at-least-once delivery. Ids come
+ *                      from a pooled sequence and are assigned before commit, so a smaller id may commit after
+ *                      a larger one: consumers must remember the ids they have seen rather than the highest one
+ * @param aggregateType {@code task}, {@code label} or {@code task_status}
+ * @param aggregateId   id of the changed resource
+ * @param eventType     {@code saved} or {@code removed}
+ * @param payload       JSON state of the saved resource, or its id if it was removed
+ * @param createdAt     time of the change
+ */
+public record OutboxMessage(
+        Long id,
+        String aggregateType,
+        Long aggregateId,
+        String eventType,
+        String payload,
+        LocalDateTime createdAt
+) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+
+}
@@ -0,0 +1,77 @@
+package hexlet.code.outbox;
+
+import hexlet.code.component.OutboxProperties;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the outbox in id order: each batch is locked, handed to every {@link OutboxSink} and deleted
+ * in one transaction, so a failed delivery leaves the batch in place for the next poll.
+ * Rows locked by a publisher on another instance are skipped rather than waited for.
+ * Without any sink the outbox is left untouched.
+ */
+@Component
+public final class OutboxPublisher {
+
+    private final OutboxEventRepository repository;
+
+    private final ObjectProvider<OutboxSink> sinks;
+
+    private final OutboxProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter published;
+
+    public OutboxPublisher(OutboxEventRepository eventRepository, ObjectProvider<OutboxSink> outboxSinks,
+                           OutboxProperties outboxProperties, TransactionTemplate template,
+                           MeterRegistry meterRegistry) {
+        repository = eventRepository;
+        sinks = outboxSinks;
+        properties = outboxProperties;
+        transactionTemplate = template;
+        published = meterRegistry.counter("outbox.published");
+    }
+
+    /**
+     * Publishes pending events batch by batch until the outbox is empty.
+     *
+     * @return number of published events
+     */
+    @Scheduled(fixedDelayString = "#{@outboxProperties.pollInterval}")
+    public int publishPending() {
+        var targets = sinks.orderedStream().toList();
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        var total = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> publishBatch(targets));
+            total += count;
+        } while (count == properties.getBatchSize());
+        return total;
+    }
+
+    private int publishBatch(List<OutboxSink> targets) {
+        var events = repository.findByOrderByIdAsc(Limit.of(properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        var messages = events.stream().map(OutboxMessage::of).toList();
+        targets.forEach(sink -> sink.publish(messages));
+        repository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+        published.increment(events.size());
+        return events.size();
+    }
+
+}
@@ -0,0 +1,15 @@
+package hexlet.code.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of published outbox events. Every sink bean receives every batch sorted by event id, which
+ * is not commit order: an event with a smaller id can arrive in a later batch, see {@link OutboxMessage#id()}.
+ * A sink that throws makes the whole batch stay in the outbox and be delivered again on the next poll,
+ * so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+
+}
@@ -0,0 +1,80 @@
+package hexlet.code.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.event.ReferenceDataChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Records change events in the outbox table right before the transaction that made the changes commits,
+ * so an event is stored if and only if its change is. Nothing is recorded while no {@link OutboxSink}
+ * is registered, since {@link OutboxPublisher} would never drain it.
+ */
+@Component
+@RequiredArgsConstructor
+public final class OutboxWriter {
+
+    public static final String TASK = "task";
+
+    public static final String SAVED = "saved";
+
+    public static final String REMOVED = "removed";
+
+    private final OutboxEventRepository repository;
+
+    private final TaskMapper taskMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectProvider<OutboxSink> sinks;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (noSinks()) {
+            return;
+        }
+        var events = new ArrayList<OutboxEvent>(event.saved().size() + event.removedIds().size());
+        event.saved().forEach(task -> events.add(build(TASK, task.id(), SAVED, taskMapper.snapshotTo(task))));
+        event.removedIds().forEach(id -> events.add(build(TASK, id, REMOVED, Map.of("id", id))));
+        repository.saveAll(events);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (noSinks()) {
+            return;
+        }
+        repository.save(event.isRemoved()
+                ? build(event.type(), event.id(), REMOVED, Map.of("id", event.id()))
+                : build(event.type(), event.id(), SAVED, event.state()));
+    }
+
+    private boolean noSinks() {
+        return sinks.stream().findAny().isEmpty();
+    }
+
+    private OutboxEvent build(String aggregateType, Long aggregateId, String eventType, Object state) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateType(aggregateType)
+                    .aggregateId(aggregateId)
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(state))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize %s %d".formatted(aggregateType, aggregateId), e);
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package hexlet.code.repository;
 
 import hexlet.code.model.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +13,7 @@ public interface LabelRepository extends JpaRepository<Label, Long> {
 
     Optional<Label> findByName(String name);
 
+    @Query("SELECT l.version FROM Label l WHERE l.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
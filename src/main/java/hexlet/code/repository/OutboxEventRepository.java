@@ -0,0 +1,29 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events, locked for the caller; rows locked by another publisher are skipped
+     * (lock timeout -2 is Hibernate's SKIP LOCKED).
+     *
+     * @param limit maximum number of events to lock
+     * @return locked events in publishing order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<OutboxEvent> findByOrderByIdAsc(Limit limit);
+
+}
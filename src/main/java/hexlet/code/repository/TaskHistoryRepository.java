@@ -0,0 +1,17 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskHistoryEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskHistoryRepository extends JpaRepository<TaskHistoryEntry, Long> {
+
+    List<TaskHistoryEntry> findByTaskIdOrderByIdDesc(Long taskId, Limit limit);
+
+    List<TaskHistoryEntry> findByTaskIdAndIdLessThanOrderByIdDesc(Long taskId, Long id, Limit limit);
+
+}
@@ -1,17 +1,27 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Task;
+import hexlet.code.repository.projection.TaskLabelId;
+import hexlet.code.repository.projection.TaskSnapshot;
+import hexlet.code.repository.projection.TaskVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository
+        extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
     @Query("SELECT t FROM Task t")
     @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
@@ -20,4 +30,41 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
     Optional<Task> findWithRelationsById(Long id);
 
+    @Query("SELECT new hexlet.code.repository.projection.TaskLabelId(t.id, l.id) "
+            + "FROM Task t JOIN t.labels l WHERE t.id IN :taskIds")
+    List<TaskLabelId> findLabelIdsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT new hexlet.code.repository.projection.TaskVersion(t.version, s.version) "
+            + "FROM Task t JOIN t.taskStatus s WHERE t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT t.index FROM Task t WHERE t.index IN :indexes")
+    List<Long> findExistingIndexes(@Param("indexes") Collection<Long> indexes);
+
+    /**
+     * Snapshots of every task ordered by id without label ids, see {@link #streamLabelIds()}.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of snapshots
+     */
+    @Query("SELECT new hexlet.code.repository.projection.TaskSnapshot("
+            + "t.id, t.version, t.name, t.description, a.id, s.id, s.slug) "
+            + "FROM Task t LEFT JOIN t.assignee a JOIN t.taskStatus s ORDER BY t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TaskSnapshot> streamSnapshots();
+
+    @Query("SELECT new hexlet.code.repository.projection.TaskSnapshot("
+            + "t.id, t.version, t.name, t.description, a.id, s.id, s.slug) "
+            + "FROM Task t LEFT JOIN t.assignee a JOIN t.taskStatus s WHERE t.id IN :taskIds")
+    List<TaskSnapshot> findSnapshotsByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Label links of every task. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of task and label id pairs
+     */
+    @Query("SELECT new hexlet.code.repository.projection.TaskLabelId(t.id, l.id) FROM Task t JOIN t.labels l")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TaskLabelId> streamLabelIds();
+
 }
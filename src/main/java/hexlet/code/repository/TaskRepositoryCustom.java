@@ -0,0 +1,53 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.Task;
+import hexlet.code.repository.projection.TaskRow;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Lazily iterates filtered task rows ordered by id, selected as the same flat projection
+     * as {@link #findRows}, without label ids. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param spec      filter
+     * @param fetchSize JDBC fetch size
+     * @return stream of task rows
+     */
+    Stream<TaskRow> streamRows(Specification<Task> spec, int fetchSize);
+
+    /**
+     * Filtered task rows ordered by id, unless the specification sets its own order,
+     * selected as a flat projection without label ids.
+     *
+     * @param spec  filter
+     * @param limit max number of rows, or null for all of them
+     * @return task rows
+     */
+    List<TaskRow> findRows(Specification<Task> spec, Integer limit);
+
+    List<Long> findIds(Specification<Task> spec);
+
+    /**
+     * Set-based update of the given tasks, bypassing the persistence context.
+     *
+     * @param ids    task ids
+     * @param values new values by attribute name
+     * @return number of updated rows
+     */
+    int bulkUpdate(Collection<Long> ids, Map<String, Object> values);
+
+    /**
+     * Set-based delete of the given tasks and their label links, bypassing the persistence context.
+     *
+     * @param ids task ids
+     * @return number of deleted tasks
+     */
+    int bulkDelete(Collection<Long> ids);
+
+}
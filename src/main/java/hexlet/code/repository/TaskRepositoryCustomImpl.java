@@ -0,0 +1,109 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.Task;
+import hexlet.code.repository.projection.TaskRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<TaskRow> streamRows(Specification<Task> spec, int fetchSize) {
+        return entityManager.createQuery(rowsQuery(spec))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<TaskRow> findRows(Specification<Task> spec, Integer limit) {
+        var typedQuery = entityManager.createQuery(rowsQuery(spec));
+        if (nonNull(limit)) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Task.class);
+        query.select(root.get("id")).distinct(true);
+
+        var predicate = spec.toPredicate(root, query, cb);
+        if (nonNull(predicate)) {
+            query.where(predicate);
+        }
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private CriteriaQuery<TaskRow> rowsQuery(Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(TaskRow.class);
+        var root = query.from(Task.class);
+        var status = root.join("taskStatus");
+        query.select(cb.construct(TaskRow.class,
+                root.get("id"),
+                root.get("index"),
+                root.get("createdAt"),
+                root.get("assignee").get("id"),
+                root.get("name"),
+                root.get("description"),
+                status.get("slug")));
+
+        var predicate = spec.toPredicate(root, query, cb);
+        if (nonNull(predicate)) {
+            query.where(predicate);
+        }
+        if (query.getOrderList().isEmpty()) {
+            query.orderBy(cb.asc(root.get("id")));
+        }
+        return query;
+    }
+
+    @Override
+    public int bulkUpdate(Collection<Long> ids, Map<String, Object> values) {
+        var cb = entityManager.getCriteriaBuilder();
+        var update = cb.createCriteriaUpdate(Task.class);
+        var root = update.from(Task.class);
+        values.forEach(update::set);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(root.get("id").in(ids));
+
+        entityManager.flush();
+        var updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public int bulkDelete(Collection<Long> ids) {
+        entityManager.flush();
+        entityManager.createNativeQuery("DELETE FROM task_labels WHERE task_id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        var cb = entityManager.getCriteriaBuilder();
+        var delete = cb.createCriteriaDelete(Task.class);
+        var root = delete.from(Task.class);
+        delete.where(root.get("id").in(ids));
+        var deleted = entityManager.createQuery(delete).executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+}
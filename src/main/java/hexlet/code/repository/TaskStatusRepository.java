@@ -3,6 +3,8 @@ package hexlet.code.repository;
 
 import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,7 @@ public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
 
     Optional<TaskStatus> findBySlug(String slug);
 
+    @Query("SELECT s.version FROM TaskStatus s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
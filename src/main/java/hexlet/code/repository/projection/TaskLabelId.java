@@ -0,0 +1,4 @@
+package hexlet.code.repository.projection;
+
+public record TaskLabelId(Long taskId, Long labelId) {
+}
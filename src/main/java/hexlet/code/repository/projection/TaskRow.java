@@ -0,0 +1,29 @@
+package hexlet.code.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Flat read-only view of a task row, selected without hydrating any entity.
+ */
+public record TaskRow(
+        Long id,
+        Long index,
+        LocalDateTime createdAt,
+        Long assigneeId,
+        String name,
+        String description,
+        String statusSlug,
+        List<Long> labelIds
+) {
+
+    public TaskRow(Long id, Long index, LocalDateTime createdAt, Long assigneeId,
+                   String name, String description, String statusSlug) {
+        this(id, index, createdAt, assigneeId, name, description, statusSlug, List.of());
+    }
+
+    public TaskRow withLabelIds(List<Long> ids) {
+        return new TaskRow(id, index, createdAt, assigneeId, name, description, statusSlug, ids);
+    }
+
+}
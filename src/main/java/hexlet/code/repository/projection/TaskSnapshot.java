@@ -0,0 +1,36 @@
+package hexlet.code.repository.projection;
+
+import hexlet.code.model.Task;
+
+import java.util.List;
+
+/**
+ * Searchable and filterable state of a task, detached from the persistence context.
+ * The version orders snapshots of one task, so listeners applying them out of commit order can drop stale ones.
+ */
+public record TaskSnapshot(
+        Long id,
+        Long version,
+        String name,
+        String description,
+        Long assigneeId,
+        Long statusId,
+        String statusSlug,
+        List<Long> labelIds
+) {
+
+    public TaskSnapshot(Long id, Long version, String name, String description, Long assigneeId, Long statusId,
+                        String statusSlug) {
+        this(id, version, name, description, assigneeId, statusId, statusSlug, List.of());
+    }
+
+    public TaskSnapshot withLabelIds(List<Long> ids) {
+        return new TaskSnapshot(id, version, name, description, assigneeId, statusId, statusSlug, ids);
+    }
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getId(), task.getVersion(), task.getName(), task.getDescription(),
+                task.getAssigneeId(), task.getStatusId(), task.getStatusSlug(), task.getLabelIds());
+    }
+
+}
@@ -0,0 +1,31 @@
+package hexlet.code.repository.projection;
+
+import hexlet.code.model.Task;
+import org.springframework.http.ETag;
+
+/**
+ * Versions a task response depends on: the task itself and its status, whose slug is rendered.
+ */
+public record TaskVersion(Long taskVersion, Long statusVersion) {
+
+    public static TaskVersion of(Task task) {
+        return new TaskVersion(task.getVersion(), task.getTaskStatus().getVersion());
+    }
+
+    public String toTag() {
+        return taskVersion + "." + statusVersion;
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against this version with the strong comparison, so weak tags never match.
+     *
+     * @param ifMatch header value, a list of entity tags or {@code *}
+     * @return whether any of the tags matches
+     */
+    public boolean matches(String ifMatch) {
+        var current = new ETag(toTag(), false);
+        return ETag.parse(ifMatch).stream()
+                .anyMatch(etag -> etag.isWildcard() || etag.compare(current, true));
+    }
+
+}
@@ -0,0 +1,53 @@
+package hexlet.code.search;
+
+import hexlet.code.repository.projection.TaskSnapshot;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Version of every indexed task and ids of deleted tasks. After-commit listeners of two writes to one task
+ * may run in either order, so an index consults this before applying a snapshot and never replaces a newer
+ * one or revives a deleted task. Ids are never reused, hence deleted ids are kept for the process lifetime.
+ * Not thread-safe, guarded by the lock of the owning index.
+ */
+final class IndexedVersions {
+
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    private final Roaring64Bitmap removedTasks = new Roaring64Bitmap();
+
+    /**
+     * Whether the snapshot is at least as new as the indexed one of its task.
+     *
+     * @param task snapshot about to be applied
+     * @return false for a deleted task or an older version than the indexed one
+     */
+    boolean isCurrent(TaskSnapshot task) {
+        if (removedTasks.contains(task.id())) {
+            return false;
+        }
+        var indexed = versions.get(task.id());
+        return isNull(indexed) || isNull(task.version()) || indexed <= task.version();
+    }
+
+    void put(TaskSnapshot task) {
+        versions.put(task.id(), task.version());
+    }
+
+    void remove(Long taskId) {
+        versions.remove(taskId);
+        removedTasks.addLong(taskId);
+    }
+
+    /**
+     * Forgets the indexed versions before a rebuild; deleted ids are kept.
+     */
+    void clear() {
+        versions.clear();
+    }
+
+}
@@ -0,0 +1,218 @@
+package hexlet.code.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Posting list of a term: task ids in ascending order with the weight of the term in each task,
+ * kept in primitive arrays.
+ */
+final class Postings {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids;
+
+    private int[] weights;
+
+    private int size;
+
+    Postings() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private Postings(int capacity) {
+        ids = new long[capacity];
+        weights = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long id(int position) {
+        return ids[position];
+    }
+
+    int weight(int position) {
+        return weights[position];
+    }
+
+    void put(long id, int weight) {
+        var position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            weights[position] = weight;
+            return;
+        }
+        var insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        weights[insertAt] = weight;
+        size++;
+    }
+
+    void remove(long id) {
+        var position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Tasks present in both lists, weighted by the sum of their weights.
+     *
+     * @param other posting list of another term
+     * @return new posting list
+     */
+    Postings intersect(Postings other) {
+        var result = new Postings(Math.max(1, Math.min(size, other.size)));
+        var left = 0;
+        var right = 0;
+        while (left < size && right < other.size) {
+            if (ids[left] < other.ids[right]) {
+                left++;
+            } else if (ids[left] > other.ids[right]) {
+                right++;
+            } else {
+                result.append(ids[left], weights[left] + other.weights[right]);
+                left++;
+                right++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tasks present in any of the lists, weighted by their highest weight. Lists are merged pairwise,
+     * so the cost grows with the total size times the logarithm of the number of lists.
+     *
+     * @param lists posting lists, e.g. of every term sharing a prefix
+     * @return new posting list
+     */
+    static Postings union(Collection<Postings> lists) {
+        List<Postings> merged = new ArrayList<>(lists);
+        if (merged.isEmpty()) {
+            return new Postings();
+        }
+        while (merged.size() > 1) {
+            var next = new ArrayList<Postings>((merged.size() + 1) / 2);
+            for (var i = 0; i < merged.size(); i += 2) {
+                next.add(i + 1 < merged.size() ? merged.get(i).union(merged.get(i + 1)) : merged.get(i));
+            }
+            merged = next;
+        }
+        return merged.getFirst();
+    }
+
+    private Postings union(Postings other) {
+        var result = new Postings(Math.max(1, size + other.size));
+        var left = 0;
+        var right = 0;
+        while (left < size || right < other.size) {
+            if (right == other.size || (left < size && ids[left] < other.ids[right])) {
+                result.append(ids[left], weights[left]);
+                left++;
+            } else if (left == size || ids[left] > other.ids[right]) {
+                result.append(other.ids[right], other.weights[right]);
+                right++;
+            } else {
+                result.append(ids[left], Math.max(weights[left], other.weights[right]));
+                left++;
+                right++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ids of the {@code limit} heaviest tasks, heaviest first and then by id. Selected with a bounded
+     * heap of positions whose root is the worst kept task, so the matches are neither boxed nor fully sorted.
+     *
+     * @param limit max number of ids
+     * @return ranked task ids
+     */
+    List<Long> top(int limit) {
+        var capacity = Math.min(limit, size);
+        if (capacity <= 0) {
+            return List.of();
+        }
+        var heap = new int[capacity];
+        var heapSize = 0;
+        for (var position = 0; position < size; position++) {
+            if (heapSize < capacity) {
+                heap[heapSize] = position;
+                siftUp(heap, heapSize++);
+            } else if (ranksBefore(position, heap[0])) {
+                heap[0] = position;
+                siftDown(heap, heapSize);
+            }
+        }
+        var top = new Long[heapSize];
+        for (var last = heapSize - 1; last >= 0; last--) {
+            top[last] = ids[heap[0]];
+            heap[0] = heap[last];
+            siftDown(heap, last);
+        }
+        return Arrays.asList(top);
+    }
+
+    private boolean ranksBefore(int position, int other) {
+        return weights[position] != weights[other]
+                ? weights[position] > weights[other]
+                : ids[position] < ids[other];
+    }
+
+    private void siftUp(int[] heap, int index) {
+        var child = index;
+        while (child > 0) {
+            var parent = (child - 1) / 2;
+            if (!ranksBefore(heap[parent], heap[child])) {
+                return;
+            }
+            swap(heap, parent, child);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        var parent = 0;
+        while (2 * parent + 1 < heapSize) {
+            var worst = 2 * parent + 1;
+            if (worst + 1 < heapSize && ranksBefore(heap[worst], heap[worst + 1])) {
+                worst++;
+            }
+            if (!ranksBefore(heap[parent], heap[worst])) {
+                return;
+            }
+            swap(heap, parent, worst);
+            parent = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int left, int right) {
+        var position = heap[left];
+        heap[left] = heap[right];
+        heap[right] = position;
+    }
+
+    private void append(long id, int weight) {
+        ids[size] = id;
+        weights[size] = weight;
+        size++;
+    }
+
+}
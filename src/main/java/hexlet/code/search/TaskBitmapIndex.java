@@ -0,0 +1,221 @@
+package hexlet.code.search;
+
+import hexlet.code.component.FilterIndexProperties;
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.projection.TaskSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Compressed bitmaps of task ids per assignee, status id and label, intersected to answer
+ * task listings without a filter query. Status slugs are resolved through {@link ReferenceDataCache},
+ * so renaming a status needs no reindexing. Title and text filters are left to the database,
+ * see {@link #supports(TaskFilterDto)}. Rebuilt at startup and updated after every committed
+ * {@link TaskChangedEvent}; until the first rebuild completes, and unless enabled in
+ * {@link FilterIndexProperties}, every filter is left to the database. Snapshots older than the indexed
+ * version of their task are ignored, see {@link IndexedVersions}.
+ */
+@Component
+@RequiredArgsConstructor
+public final class TaskBitmapIndex {
+
+    private final Roaring64Bitmap allTasks = new Roaring64Bitmap();
+
+    private final Map<Long, Roaring64Bitmap> tasksByAssignee = new HashMap<>();
+
+    private final Map<Long, Roaring64Bitmap> tasksByStatus = new HashMap<>();
+
+    private final Map<Long, Roaring64Bitmap> tasksByLabel = new HashMap<>();
+
+    private final Map<Long, TaskSnapshot> indexedTasks = new HashMap<>();
+
+    private final IndexedVersions versions = new IndexedVersions();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final FilterIndexProperties properties;
+
+    private final TaskRepository taskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    private volatile boolean ready;
+
+    public boolean supports(TaskFilterDto filter) {
+        return properties.isEnabled() && ready && isNull(filter.getTitleCont()) && isNull(filter.getQ());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            allTasks.clear();
+            tasksByAssignee.clear();
+            tasksByStatus.clear();
+            tasksByLabel.clear();
+            indexedTasks.clear();
+            versions.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var snapshots = taskRepository.streamSnapshots()) {
+                    snapshots.forEach(this::put);
+                }
+                var labelIds = new HashMap<Long, List<Long>>();
+                try (var links = taskRepository.streamLabelIds()) {
+                    links.forEach(link -> labelIds.computeIfAbsent(link.taskId(), taskId -> new ArrayList<>())
+                            .add(link.labelId()));
+                }
+                labelIds.forEach((taskId, ids) -> {
+                    var task = indexedTasks.get(taskId);
+                    if (nonNull(task)) {
+                        put(task.withLabelIds(ids));
+                    }
+                });
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            event.removedIds().forEach(taskId -> {
+                remove(taskId);
+                versions.remove(taskId);
+            });
+            event.saved().stream().filter(versions::isCurrent).forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count(TaskFilterDto filter) {
+        return match(filter).getLongCardinality();
+    }
+
+    /**
+     * Ids of the tasks matching the filter in ascending order.
+     *
+     * @param filter filter accepted by {@link #supports(TaskFilterDto)}
+     * @param lastId only ids greater than this one, or null to start from the first task
+     * @param limit  max number of ids, or null for all of them
+     * @return task ids
+     */
+    public List<Long> findIds(TaskFilterDto filter, Long lastId, Integer limit) {
+        var matches = match(filter);
+        var cardinality = matches.getLongCardinality();
+        var from = isNull(lastId) ? 0 : matches.rankLong(lastId);
+        var to = isNull(limit) ? cardinality : Math.min(cardinality, from + limit);
+        var ids = new ArrayList<Long>((int) Math.max(0, to - from));
+        for (var position = from; position < to; position++) {
+            ids.add(matches.select(position));
+        }
+        return ids;
+    }
+
+    private Roaring64Bitmap match(TaskFilterDto filter) {
+        Long statusId = null;
+        if (nonNull(filter.getStatus())) {
+            var status = referenceDataCache.getStatusBySlug(filter.getStatus());
+            if (status.isEmpty()) {
+                return new Roaring64Bitmap();
+            }
+            statusId = status.get().getId();
+        }
+        lock.readLock().lock();
+        try {
+            var criteria = new ArrayList<Roaring64Bitmap>();
+            if (nonNull(filter.getAssigneeId())) {
+                criteria.add(tasksByAssignee.get(filter.getAssigneeId()));
+            }
+            if (nonNull(statusId)) {
+                criteria.add(tasksByStatus.get(statusId));
+            }
+            if (nonNull(filter.getLabelId())) {
+                criteria.add(tasksByLabel.get(filter.getLabelId()));
+            }
+            var result = new Roaring64Bitmap();
+            if (criteria.contains(null)) {
+                return result;
+            }
+            result.or(criteria.isEmpty() ? allTasks : criteria.getFirst());
+            criteria.stream().skip(1).forEach(result::and);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(TaskSnapshot task) {
+        remove(task.id());
+        allTasks.addLong(task.id());
+        if (nonNull(task.assigneeId())) {
+            bitmap(tasksByAssignee, task.assigneeId()).addLong(task.id());
+        }
+        bitmap(tasksByStatus, task.statusId()).addLong(task.id());
+        task.labelIds().forEach(labelId -> bitmap(tasksByLabel, labelId).addLong(task.id()));
+        // only what is needed to unset the task later, the text is not kept
+        indexedTasks.put(task.id(), new TaskSnapshot(task.id(), task.version(), null, null,
+                task.assigneeId(), task.statusId(), null, task.labelIds()));
+        versions.put(task);
+    }
+
+    private void remove(Long taskId) {
+        var task = indexedTasks.remove(taskId);
+        allTasks.removeLong(taskId);
+        if (isNull(task)) {
+            return;
+        }
+        if (nonNull(task.assigneeId())) {
+            unset(tasksByAssignee, task.assigneeId(), taskId);
+        }
+        unset(tasksByStatus, task.statusId(), taskId);
+        task.labelIds().forEach(labelId -> unset(tasksByLabel, labelId, taskId));
+    }
+
+    private static <K> Roaring64Bitmap bitmap(Map<K, Roaring64Bitmap> bitmaps, K key) {
+        return bitmaps.computeIfAbsent(key, k -> new Roaring64Bitmap());
+    }
+
+    private static <K> void unset(Map<K, Roaring64Bitmap> bitmaps, K key, long taskId) {
+        var bitmap = bitmaps.get(key);
+        if (isNull(bitmap)) {
+            return;
+        }
+        bitmap.removeLong(taskId);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package hexlet.code.search;
+
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.projection.TaskSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+
+/**
+ * In-process inverted index over task names and descriptions for typeahead search.
+ * Rebuilt from the database at startup and updated after every committed {@link TaskChangedEvent};
+ * tasks written around the service, e.g. straight through the repository, are not indexed.
+ * Callers should check {@link #isReady()} and search the database until the first rebuild completes.
+ * Snapshots older than the indexed version of their task are ignored, see {@link IndexedVersions}.
+ * Words of a query must all match, the last one as a prefix. A word found in the name weighs more
+ * than one found in the description.
+ */
+@Component
+@RequiredArgsConstructor
+public final class TaskSearchIndex {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int NAME_WEIGHT = 2;
+
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+
+    private final Map<Long, String[]> termsByTask = new HashMap<>();
+
+    private final IndexedVersions versions = new IndexedVersions();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TaskRepository taskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postingsByTerm.clear();
+            termsByTask.clear();
+            versions.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var snapshots = taskRepository.streamSnapshots()) {
+                    snapshots.forEach(this::put);
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.removedIds().forEach(taskId -> {
+                remove(taskId);
+                versions.remove(taskId);
+            });
+            event.saved().stream().filter(versions::isCurrent).forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the tasks matching every word of the text, most relevant first, then by id.
+     *
+     * @param text  search text
+     * @param limit max number of ids
+     * @return ranked task ids
+     */
+    public List<Long> search(String text, int limit) {
+        var terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            var prefix = terms.getLast();
+            var matches = Postings.union(postingsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                    .values());
+            for (var term : terms.subList(0, terms.size() - 1)) {
+                if (matches.isEmpty()) {
+                    break;
+                }
+                var postings = postingsByTerm.get(term);
+                matches = isNull(postings) ? new Postings() : matches.intersect(postings);
+            }
+            return matches.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(TaskSnapshot task) {
+        remove(task.id());
+        var weights = new HashMap<String, Integer>();
+        new HashSet<>(tokenize(task.name())).forEach(term -> weights.put(term, NAME_WEIGHT));
+        new HashSet<>(tokenize(task.description()))
+                .forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        weights.forEach((term, weight) -> postingsByTerm.computeIfAbsent(term, key -> new Postings())
+                .put(task.id(), weight));
+        termsByTask.put(task.id(), weights.keySet().toArray(String[]::new));
+        versions.put(task);
+    }
+
+    private void remove(Long taskId) {
+        var terms = termsByTask.remove(taskId);
+        if (isNull(terms)) {
+            return;
+        }
+        Arrays.stream(terms).forEach(term -> {
+            var postings = postingsByTerm.get(term);
+            postings.remove(taskId);
+            if (postings.isEmpty()) {
+                postingsByTerm.remove(term);
+            }
+        });
+    }
+
+    private static List<String> tokenize(String text) {
+        if (isNull(text)) {
+            return List.of();
+        }
+        var terms = new ArrayList<String>();
+        for (var term : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+}
@@ -0,0 +1,41 @@
+package hexlet.code.search;
+
+import hexlet.code.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Component;
+
+/**
+ * Text predicates over task name and description. The SQL behind them depends on the database,
+ * see {@link TaskTextSearchFunctions}.
+ */
+@Component
+public final class TaskTextSearch {
+
+    public Predicate titleContains(Root<Task> root, CriteriaBuilder cb, String substring) {
+        return cb.like(cb.lower(root.get("name")), "%" + substring.toLowerCase() + "%");
+    }
+
+    public Predicate matches(Root<Task> root, CriteriaBuilder cb, String text) {
+        return cb.isTrue(cb.function(TaskTextSearchFunctions.MATCH, Boolean.class, arguments(root, cb, text)));
+    }
+
+    /**
+     * Relevance of a task for the text, higher is better. Only meaningful for tasks that {@link #matches} it.
+     *
+     * @param root task root
+     * @param cb   criteria builder
+     * @param text search text
+     * @return rank expression
+     */
+    public Expression<Double> rank(Root<Task> root, CriteriaBuilder cb, String text) {
+        return cb.function(TaskTextSearchFunctions.RANK, Double.class, arguments(root, cb, text));
+    }
+
+    private static Expression<?>[] arguments(Root<Task> root, CriteriaBuilder cb, String text) {
+        return new Expression<?>[] {root.get("id"), root.get("name"), root.get("description"), cb.literal(text)};
+    }
+
+}
@@ -0,0 +1,69 @@
+package hexlet.code.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the vendor-specific SQL behind {@link TaskTextSearch}. Every function takes
+ * the task id, name and description followed by the search text.
+ * <ul>
+ *     <li>PostgreSQL matches words through a tsvector over name and description and substrings of the name
+ *     through pg_trgm, both backed by GIN indexes; the rank adds ts_rank to the trigram similarity.</li>
+ *     <li>H2 matches words through its native full-text index on tasks; hits in the name rank higher.</li>
+ *     <li>Other databases fall back to case-insensitive substring matching.</li>
+ * </ul>
+ */
+public final class TaskTextSearchFunctions implements FunctionContributor {
+
+    public static final String MATCH = "task_text_match";
+
+    public static final String RANK = "task_text_rank";
+
+    private static final String PG_DOCUMENT =
+            "to_tsvector('simple', coalesce(?2, '') || ' ' || coalesce(?3, ''))";
+
+    private static final String PG_QUERY = "plainto_tsquery('simple', ?4)";
+
+    private static final String PG_MATCH =
+            "(" + PG_DOCUMENT + " @@ " + PG_QUERY + " or lower(?2) like '%' || lower(?4) || '%')";
+
+    private static final String PG_RANK =
+            "(ts_rank(" + PG_DOCUMENT + ", " + PG_QUERY + ") + similarity(lower(?2), lower(?4)))";
+
+    private static final String H2_MATCH = "(?1 in (select cast(ft.KEYS[1] as bigint) from FT_SEARCH_DATA(?4, 0, 0) ft "
+            + "where ft.\"SCHEMA\" = 'PUBLIC' and ft.\"TABLE\" = 'TASKS'))";
+
+    private static final String TITLE_HIT_RANK = "(case when locate(lower(?4), lower(?2)) > 0 then 1.0 else 0.5 end)";
+
+    private static final String LIKE_MATCH = "(lower(?2) like '%' || lower(?4) || '%' "
+            + "or lower(?3) like '%' || lower(?4) || '%')";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        var registry = functionContributions.getFunctionRegistry();
+        var dialect = functionContributions.getDialect();
+
+        registry.registerPattern(MATCH, matchPattern(dialect), types.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern(RANK, rankPattern(dialect), types.resolve(StandardBasicTypes.DOUBLE));
+    }
+
+    private static String matchPattern(Dialect dialect) {
+        if (dialect instanceof PostgreSQLDialect) {
+            return PG_MATCH;
+        }
+        if (dialect instanceof H2Dialect) {
+            return H2_MATCH;
+        }
+        return LIKE_MATCH;
+    }
+
+    private static String rankPattern(Dialect dialect) {
+        return dialect instanceof PostgreSQLDialect ? PG_RANK : TITLE_HIT_RANK;
+    }
+
+}
@@ -0,0 +1,97 @@
+package hexlet.code.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import hexlet.code.component.AppCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static java.util.Objects.isNull;
+
+/**
+ * {@link JwtDecoder} that remembers successfully verified tokens, keyed by their SHA-256 hash,
+ * so that repeated requests with the same token skip the signature check.
+ * Entries never outlive the token's {@code exp} claim.
+ */
+public final class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> verifiedTokens;
+
+    private final Timer verifyTimer;
+
+    public CachingJwtDecoder(JwtDecoder decoder, AppCacheProperties.Spec spec, MeterRegistry meterRegistry) {
+        delegate = decoder;
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfter(new TokenExpiry(spec.getTtl()))
+                .recordStats()
+                .build();
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying JWT signatures")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt");
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        var key = hash(token);
+        var cached = verifiedTokens.getIfPresent(key);
+        if (!isNull(cached) && !isExpired(cached)) {
+            return cached;
+        }
+        var jwt = verifyTimer.record(() -> delegate.decode(token));
+        verifiedTokens.put(key, jwt);
+        return jwt;
+    }
+
+    private static boolean isExpired(Jwt jwt) {
+        return !isNull(jwt.getExpiresAt()) && !jwt.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record TokenExpiry(Duration ttl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            var expiresAt = jwt.getExpiresAt();
+            if (isNull(expiresAt)) {
+                return ttl.toNanos();
+            }
+            var remaining = Duration.between(Instant.now(), expiresAt);
+            return Math.max(0, Math.min(ttl.toNanos(), remaining.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -1,6 +1,9 @@
 package hexlet.code.security;
 
+import hexlet.code.component.AppCacheProperties;
+import hexlet.code.component.PasswordProperties;
 import hexlet.code.component.RsaKeyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 import com.nimbusds.jose.jwk.JWKSet;
@@ -12,27 +15,40 @@ import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
+import java.util.Map;
+
 @Configuration
 @RequiredArgsConstructor
 public class EncoderConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private final RsaKeyProperties rsaKeys;
 
+    private final AppCacheProperties cacheProperties;
+
+    private final PasswordProperties passwordProperties;
+
     /**
-     * Password encoder.
+     * Password encoder. New hashes are {@code {bcrypt}}-prefixed with the configured strength;
+     * legacy unprefixed or weaker hashes still match and are upgraded on the next successful login.
      *
-     * @return {@link BCryptPasswordEncoder}
+     * @return {@link DelegatingPasswordEncoder}
      * @see BCryptPasswordEncoder
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        var bcrypt = new BCryptPasswordEncoder(passwordProperties.getBcryptStrength());
+        var encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     /**
@@ -51,14 +67,18 @@ public class EncoderConfig {
     }
 
     /**
-     * jwt decoder.
+     * jwt decoder, wrapped in a verification cache when {@code app.cache.jwt.enabled} is set.
      *
+     * @param meterRegistry registry for cache and verify latency metrics
      * @return {@link JwtDecoder}
      * @see JwtDecoder
+     * @see CachingJwtDecoder
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
+        var decoder = NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+        var spec = cacheProperties.getJwt();
+        return spec.isEnabled() ? new CachingJwtDecoder(decoder, spec, meterRegistry) : decoder;
     }
 
 }
@@ -105,6 +105,7 @@ public class SecurityConfig {
         var provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(customUserDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(customUserDetailsService);
         return provider;
     }
 
@@ -1,24 +1,42 @@
 package hexlet.code.security;
 
+import hexlet.code.component.PrincipalCache;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
+import static hexlet.code.util.JwtUtils.USER_ID_CLAIM;
+
 @Component
 @RequiredArgsConstructor
 public final class UserPermissionValidator {
 
     private final UserRepository userRepository;
 
+    private final PrincipalCache principalCache;
+
+    /**
+     * Decides ownership from the {@code uid} claim when the token carries one,
+     * otherwise falls back to resolving the user and comparing emails.
+     *
+     * @param userId id of the user being accessed
+     * @return true when the authenticated user is that user
+     */
     public boolean isOwner(Long userId) {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
 
-        var user = userRepository.findById(userId)
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication
+                && jwtAuthentication.getToken().getClaims().get(USER_ID_CLAIM) instanceof Number uid) {
+            return userId.equals(uid.longValue());
+        }
+
+        var user = principalCache.getById(userId, userRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id=%d not found".formatted(userId)));
 
         var email = authentication.getName();
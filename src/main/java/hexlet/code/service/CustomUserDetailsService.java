@@ -1,21 +1,41 @@
 package hexlet.code.service;
 
+import hexlet.code.component.PrincipalCache;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public final class CustomUserDetailsService implements UserDetailsManager {
+public final class CustomUserDetailsService implements UserDetailsManager, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    private final PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException(email));
+        return principalCache.getByEmail(email, userRepository::findByEmail)
+                .orElseThrow(() -> new UsernameNotFoundException(email));
+    }
+
+    /**
+     * Stores a re-encoded password hash after a successful login with an outdated encoding.
+     *
+     * @param user        authenticated user
+     * @param newPassword password hash in the current encoding
+     * @return user with the updated hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var account = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(user.getUsername()));
+        account.setPasswordHash(newPassword);
+        return userRepository.save(account);
     }
 
     @Override
@@ -1,12 +1,16 @@
 package hexlet.code.service;
 
+import hexlet.code.component.CollectionVersions;
 import hexlet.code.dto.label.LabelCreateDto;
 import hexlet.code.dto.label.LabelUpdateDto;
+import hexlet.code.event.ReferenceDataChangedEvent;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
 import java.util.List;
@@ -23,15 +27,34 @@ public final class LabelService {
 
     private final LabelMapper mapper;
 
+    private final CollectionVersions collectionVersions;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
     public Label create(LabelCreateDto createDto) {
-        var newLabel = mapper.toDomain(createDto);
-        return repository.save(newLabel);
+        return transactionTemplate.execute(status -> published(repository.save(mapper.toDomain(createDto))));
     }
 
     public Optional<Label> getById(Long id) {
         return repository.findById(id);
     }
 
+    /**
+     * Strong ETag of the label with the given id, read without loading the entity.
+     *
+     * @param id label id
+     * @return ETag value, or empty if there is no such label
+     */
+    public Optional<String> getETag(Long id) {
+        return repository.findVersionById(id).map(String::valueOf);
+    }
+
+    public String getListETag() {
+        return collectionVersions.tag(Label.class);
+    }
+
     public List<Label> getAll() {
         return repository.findAll();
     }
@@ -41,13 +64,23 @@ public final class LabelService {
     }
 
     public Optional<Label> update(Long id, LabelUpdateDto updateDto) {
-        return repository.findById(id)
+        return transactionTemplate.execute(status -> repository.findById(id)
                 .map(label -> mapper.update(label, updateDto))
-                .map(repository::save);
+                .map(repository::save)
+                .map(this::published));
     }
 
     public void delete(Long id) {
-        repository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> repository.findById(id).ifPresent(label -> {
+            repository.delete(label);
+            eventPublisher.publishEvent(ReferenceDataChangedEvent.removed(ReferenceDataChangedEvent.LABEL, id));
+        }));
+    }
+
+    private Label published(Label label) {
+        eventPublisher.publishEvent(ReferenceDataChangedEvent.saved(
+                ReferenceDataChangedEvent.LABEL, label.getId(), mapper.domainTo(label)));
+        return label;
     }
 
 }
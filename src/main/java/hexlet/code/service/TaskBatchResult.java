@@ -0,0 +1,12 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Task;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Outcome of a batch create: the saved tasks in request order and the errors keyed by request position.
+ */
+public record TaskBatchResult(List<Task> created, SortedMap<Integer, List<String>> errors) {
+}
@@ -0,0 +1,44 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.CursorPage;
+import hexlet.code.model.TaskHistoryEntry;
+import hexlet.code.repository.TaskHistoryRepository;
+import hexlet.code.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import static java.util.Objects.isNull;
+
+@Service
+@RequiredArgsConstructor
+public final class TaskHistoryService {
+
+    private final TaskHistoryRepository repository;
+
+    /**
+     * Keyset page of the history of a task, newest first, fetching at most {@code limit + 1} rows.
+     * Entries are written in batches, so the latest changes may appear up to one flush interval later.
+     *
+     * @param taskId task id, history outlives the task
+     * @param after  opaque cursor returned with the previous page, or null for the first page
+     * @param limit  requested page size, or null for the default one
+     * @return page of entries with the cursor of the next page, if any
+     */
+    public CursorPage<TaskHistoryEntry> getPage(Long taskId, String after, Integer limit) {
+        var pageSize = isNull(limit)
+                ? TaskService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, TaskService.MAX_PAGE_SIZE));
+        var fetchLimit = Limit.of(pageSize + 1);
+        var entries = isNull(after)
+                ? repository.findByTaskIdOrderByIdDesc(taskId, fetchLimit)
+                : repository.findByTaskIdAndIdLessThanOrderByIdDesc(taskId, CursorCodec.decode(after), fetchLimit);
+
+        if (entries.size() <= pageSize) {
+            return CursorPage.of(entries, null);
+        }
+        var page = entries.subList(0, pageSize);
+        return CursorPage.of(page, CursorCodec.encode(page.get(pageSize - 1).getId()));
+    }
+
+}
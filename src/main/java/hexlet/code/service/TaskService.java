@@ -1,21 +1,80 @@
 package hexlet.code.service;
 
+import hexlet.code.component.CollectionVersions;
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.component.TaskSpecificationBuilder;
+import hexlet.code.component.TotalCountCache;
+import hexlet.code.dto.CursorPage;
 import hexlet.code.dto.task.TaskCreateDto;
 import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.dto.task.TaskPatchDto;
 import hexlet.code.dto.task.TaskUpdateDto;
+import hexlet.code.dto.task.TaskBulkUpdateDto;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.exception.BatchSizeExceededException;
+import hexlet.code.exception.EmptyFilterException;
+import hexlet.code.exception.PreconditionFailedException;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.history.TaskChanges;
+import hexlet.code.history.TaskHistoryWriter;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.projection.TaskRow;
+import hexlet.code.repository.projection.TaskSnapshot;
+import hexlet.code.repository.projection.TaskVersion;
+import hexlet.code.search.TaskBitmapIndex;
+import hexlet.code.search.TaskSearchIndex;
+import hexlet.code.util.CursorCodec;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 @Service
 @RequiredArgsConstructor
-public final class TaskService {
+public class TaskService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    public static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    public static final int MAX_PATCH_ATTEMPTS = 3;
 
     private final TaskRepository taskRepository;
 
@@ -23,32 +82,455 @@ public final class TaskService {
 
     private final TaskSpecificationBuilder filterBuilder;
 
+    private final TotalCountCache countCache;
+
+    private final UserService userService;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    private final Validator validator;
+
+    private final TaskSearchIndex searchIndex;
+
+    private final TaskBitmapIndex bitmapIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CollectionVersions collectionVersions;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TaskHistoryWriter historyWriter;
+
+    @Transactional
     public Task create(TaskCreateDto createDto) {
         var newTask = taskMapper.toDomain(createDto);
-        return taskRepository.save(newTask);
+        var savedTask = taskRepository.save(newTask);
+        countCache.invalidate(Task.class);
+        eventPublisher.publishEvent(TaskChangedEvent.ofCreated(List.of(savedTask)));
+        return savedTask;
+    }
+
+    /**
+     * Creates every valid task of the batch in one transaction, resolving statuses, assignees and labels
+     * once for the whole batch. Invalid items are skipped and reported by their position in the request.
+     *
+     * @param createDtos tasks to create, at most {@link #MAX_BATCH_SIZE}
+     * @return created tasks and per-item errors
+     */
+    @Transactional
+    public TaskBatchResult createAll(List<TaskCreateDto> createDtos) {
+        if (createDtos.size() > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException("At most %d tasks can be created at once, got %d"
+                    .formatted(MAX_BATCH_SIZE, createDtos.size()));
+        }
+        var errors = new TreeMap<Integer, List<String>>();
+        for (var position = 0; position < createDtos.size(); position++) {
+            var violations = validate(createDtos.get(position));
+            if (!violations.isEmpty()) {
+                errors.put(position, violations);
+            }
+        }
+        var valid = IntStream.range(0, createDtos.size())
+                .filter(position -> !errors.containsKey(position))
+                .mapToObj(createDtos::get)
+                .toList();
+
+        var statuses = resolveStatuses(valid);
+        var assignees = userService.getAllById(distinct(valid, dto -> dto.getAssigneeId().stream())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        var labels = referenceDataCache.getLabelsByIds(distinct(valid, dto -> dto.getTaskLabelIds().stream()
+                        .flatMap(List::stream))).stream()
+                .collect(Collectors.toMap(Label::getId, Function.identity()));
+        var takenIndexes = new HashSet<>(findExistingIndexes(valid));
+
+        var tasks = new ArrayList<Task>();
+        for (var position = 0; position < createDtos.size(); position++) {
+            if (errors.containsKey(position)) {
+                continue;
+            }
+            var dto = createDtos.get(position);
+            var itemErrors = new ArrayList<String>();
+            var status = statuses.get(dto.getStatus());
+            if (isNull(status)) {
+                itemErrors.add("TaskStatus with slug=%s not found".formatted(dto.getStatus()));
+            }
+            var assigneeId = dto.getAssigneeId();
+            if (assigneeId.isPresent() && !assignees.containsKey(assigneeId.get())) {
+                itemErrors.add("User with id=%d not found".formatted(assigneeId.get()));
+            }
+            var labelIds = dto.getTaskLabelIds().orElse(List.of());
+            labelIds.stream()
+                    .filter(labelId -> !labels.containsKey(labelId))
+                    .forEach(labelId -> itemErrors.add("Label with id=%d not found".formatted(labelId)));
+            if (nonNull(dto.getIndex()) && !takenIndexes.add(dto.getIndex())) {
+                itemErrors.add("Task with index=%d already exists".formatted(dto.getIndex()));
+            }
+            if (!itemErrors.isEmpty()) {
+                errors.put(position, itemErrors);
+                continue;
+            }
+            var taskLabels = labelIds.stream().map(labels::get).collect(Collectors.toSet());
+            tasks.add(taskMapper.toDomain(dto, status, assigneeId.map(assignees::get).orElse(null), taskLabels));
+        }
+
+        var created = taskRepository.saveAll(tasks);
+        if (!created.isEmpty()) {
+            countCache.invalidate(Task.class);
+            eventPublisher.publishEvent(TaskChangedEvent.ofCreated(created));
+        }
+        return new TaskBatchResult(created, errors);
     }
 
     public Optional<Task> getById(Long id) {
         return taskRepository.findWithRelationsById(id);
     }
 
+    /**
+     * Strong ETag of the task with the given id, covering the task and the status slug it renders.
+     *
+     * @param id task id
+     * @return ETag value, or empty if there is no such task
+     */
+    public Optional<String> getETag(Long id) {
+        return taskRepository.findVersionById(id).map(TaskVersion::toTag);
+    }
+
+    public String getListETag() {
+        return collectionVersions.tag(Task.class, TaskStatus.class);
+    }
+
     public List<Task> getAll() {
         return taskRepository.findAllWithEagerRelationships();
     }
 
-    public List<Task> getAll(TaskFilterDto filterDto) {
+    /**
+     * Filtered tasks as flat rows with label ids, read without loading entities into the persistence context.
+     * Rows matched by the {@code q} text come most relevant first.
+     *
+     * @param filterDto filter
+     * @return task rows
+     */
+    @Transactional(readOnly = true)
+    public List<TaskRow> getRows(TaskFilterDto filterDto) {
+        if (bitmapIndex.supports(filterDto)) {
+            return withLabelIds(findRowsByIds(bitmapIndex.findIds(filterDto, null, null)));
+        }
+        var filter = filterBuilder.build(filterDto).and(filterBuilder.withRankOrder(filterDto));
+        var rows = taskRepository.findRows(filter, null);
+        return withLabelIds(rows);
+    }
+
+    /**
+     * Tasks whose name or description match the text in {@link TaskSearchIndex}, most relevant first.
+     * Ids are ranked in memory, only the returned page is read from the database. Until the index
+     * is built the text is searched in the database, ranked the same way as {@code ?q=}.
+     *
+     * @param text  search text, the last word matches as a prefix
+     * @param limit requested number of tasks, or null for the default one
+     * @return task rows
+     */
+    @Transactional(readOnly = true)
+    public List<TaskRow> search(String text, Integer limit) {
+        var size = isNull(limit) ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        if (!searchIndex.isReady()) {
+            var filterDto = new TaskFilterDto();
+            filterDto.setQ(text);
+            var filter = filterBuilder.build(filterDto).and(filterBuilder.withRankOrder(filterDto));
+            return withLabelIds(taskRepository.findRows(filter, size));
+        }
+        var ids = searchIndex.search(text, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var rowsById = taskRepository.findRows(filterBuilder.withIds(ids), null).stream()
+                .collect(Collectors.toMap(TaskRow::id, Function.identity()));
+        var rows = ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return withLabelIds(rows);
+    }
+
+    /**
+     * Passes every filtered task row to the action one by one. Rows are read as projections, so the
+     * persistence context does not grow with the result size, and label ids are attached per chunk
+     * of {@code STREAM_FETCH_SIZE} rows with one query instead of one per row.
+     *
+     * @param filterDto filter
+     * @param action    task row consumer
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(TaskFilterDto filterDto, Consumer<TaskRow> action) {
         var filter = filterBuilder.build(filterDto);
-        return taskRepository.findAll(filter);
+        var chunk = new ArrayList<TaskRow>(STREAM_FETCH_SIZE);
+        try (var rows = taskRepository.streamRows(filter, STREAM_FETCH_SIZE)) {
+            rows.forEach(row -> {
+                chunk.add(row);
+                if (chunk.size() == STREAM_FETCH_SIZE) {
+                    withLabelIds(chunk).forEach(action);
+                    chunk.clear();
+                }
+            });
+        }
+        withLabelIds(chunk).forEach(action);
+    }
+
+    public long count(TaskFilterDto filterDto) {
+        if (bitmapIndex.supports(filterDto)) {
+            return bitmapIndex.count(filterDto);
+        }
+        return countCache.get(Task.class, filterDto, () -> taskRepository.count(filterBuilder.build(filterDto)));
     }
 
+    /**
+     * Keyset page of filtered tasks ordered by id, fetching at most {@code limit + 1} rows.
+     * Ids come from {@link TaskBitmapIndex} when it supports the filter.
+     *
+     * @param filterDto filter
+     * @param after     opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size, or null for the default one
+     * @return page of tasks with the cursor of the next page, if any
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskRow> getPage(TaskFilterDto filterDto, String after, Integer limit) {
+        var lastId = isNull(after) ? null : CursorCodec.decode(after);
+        var pageSize = isNull(limit) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<TaskRow> rows;
+        if (bitmapIndex.supports(filterDto)) {
+            rows = findRowsByIds(bitmapIndex.findIds(filterDto, lastId, pageSize + 1));
+        } else {
+            var filter = filterBuilder.build(filterDto).and(filterBuilder.withIdAfter(lastId));
+            rows = taskRepository.findRows(filter, pageSize + 1);
+        }
+
+        if (rows.size() <= pageSize) {
+            return CursorPage.of(withLabelIds(rows), null);
+        }
+        var page = withLabelIds(rows.subList(0, pageSize));
+        return CursorPage.of(page, CursorCodec.encode(page.get(pageSize - 1).id()));
+    }
+
+    private List<TaskRow> findRowsByIds(List<Long> ids) {
+        var rows = new ArrayList<TaskRow>(ids.size());
+        for (var chunk : chunks(ids)) {
+            rows.addAll(taskRepository.findRows(filterBuilder.withIds(chunk), null));
+        }
+        return rows;
+    }
+
+    private List<TaskRow> withLabelIds(List<TaskRow> rows) {
+        var taskIds = rows.stream().map(TaskRow::id).toList();
+        var labelIds = new HashMap<Long, List<Long>>();
+        for (var chunk : chunks(taskIds)) {
+            taskRepository.findLabelIdsByTaskIds(chunk).forEach(link -> labelIds
+                    .computeIfAbsent(link.taskId(), taskId -> new ArrayList<>())
+                    .add(link.labelId()));
+        }
+        return rows.stream()
+                .map(row -> row.withLabelIds(labelIds.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    private List<String> validate(TaskCreateDto dto) {
+        if (isNull(dto)) {
+            return List.of("Task must not be null");
+        }
+        return validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    private Map<String, TaskStatus> resolveStatuses(List<TaskCreateDto> dtos) {
+        var statuses = new HashMap<String, TaskStatus>();
+        distinct(dtos, dto -> Stream.of(dto.getStatus()))
+                .forEach(slug -> referenceDataCache.getStatusBySlug(slug)
+                        .ifPresent(status -> statuses.put(slug, status)));
+        return statuses;
+    }
+
+    private List<Long> findExistingIndexes(List<TaskCreateDto> dtos) {
+        var indexes = distinct(dtos, dto -> Stream.ofNullable(dto.getIndex()));
+        return indexes.isEmpty() ? List.of() : taskRepository.findExistingIndexes(indexes);
+    }
+
+    private static <T> List<T> distinct(Collection<TaskCreateDto> dtos,
+                                        Function<TaskCreateDto, Stream<T>> extractor) {
+        return dtos.stream().flatMap(extractor).distinct().toList();
+    }
+
+    @Transactional
     public Optional<Task> update(Long id, TaskUpdateDto updateDto) {
+        var changes = new TaskChanges();
         return taskRepository.findById(id)
-                .map(task -> taskMapper.update(task, updateDto))
-                .map(taskRepository::save);
+                .map(task -> {
+                    var before = TaskSnapshot.of(task);
+                    var saved = taskRepository.saveAndFlush(taskMapper.update(task, updateDto, changes));
+                    countCache.invalidate(Task.class);
+                    eventPublisher.publishEvent(TaskChangedEvent.ofUpdated(List.of(before), List.of(saved)));
+                    historyWriter.record(saved.getId(), changes);
+                    return saved;
+                });
+    }
+
+    /**
+     * Applies a partial update guarded by the task version. With {@code If-Match} the update is made only
+     * if the task is still at one of the given versions. Without it, a patch that only adds or removes labels
+     * is reapplied to the fresh state up to {@link #MAX_PATCH_ATTEMPTS} times when a concurrent write wins;
+     * any other conflicting patch fails.
+     *
+     * @param id       task id
+     * @param patchDto changes
+     * @param ifMatch  value of the {@code If-Match} header, or null
+     * @return updated task, or empty if there is no such task
+     * @throws PreconditionFailedException if the task version does not match {@code ifMatch}
+     * @throws OptimisticLockingFailureException if a concurrent write could not be merged
+     */
+    public Optional<Task> patch(Long id, TaskPatchDto patchDto, String ifMatch) {
+        var attempts = isNull(ifMatch) && patchDto.isCommutative() ? MAX_PATCH_ATTEMPTS : 1;
+        for (var attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyPatch(id, patchDto, ifMatch));
+            } catch (OptimisticLockingFailureException e) {
+                if (nonNull(ifMatch)) {
+                    throw new PreconditionFailedException("Task with id=%d was modified concurrently".formatted(id));
+                }
+                if (attempt >= attempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Optional<Task> applyPatch(Long id, TaskPatchDto patchDto, String ifMatch) {
+        var found = taskRepository.findWithRelationsById(id);
+        if (found.isEmpty()) {
+            return found;
+        }
+        var task = found.get();
+        if (nonNull(ifMatch) && !TaskVersion.of(task).matches(ifMatch)) {
+            throw new PreconditionFailedException("Task with id=%d does not match %s".formatted(id, ifMatch));
+        }
+        var before = TaskSnapshot.of(task);
+        var changes = new TaskChanges();
+        taskMapper.update(task, patchDto.toUpdateDto(), changes);
+        var oldLabelIds = task.getLabelIds();
+        patchDto.getAddLabelIds().ifPresent(labelIds -> task.getLabels()
+                .addAll(referenceDataCache.getLabelsByIds(labelIds)));
+        patchDto.getRemoveLabelIds().ifPresent(labelIds -> task.getLabels()
+                .removeIf(label -> labelIds.contains(label.getId())));
+        changes.recordLabels(oldLabelIds, task.getLabelIds());
+        var saved = taskRepository.saveAndFlush(task);
+        countCache.invalidate(Task.class);
+        eventPublisher.publishEvent(TaskChangedEvent.ofUpdated(List.of(before), List.of(saved)));
+        historyWriter.record(saved.getId(), changes);
+        return Optional.of(saved);
+    }
+
+    /**
+     * Applies the status and assignee of {@code updateDto} to every task matching a non-empty filter.
+     *
+     * @param filterDto filter, at least one criterion is required
+     * @param updateDto new values
+     * @return number of updated tasks
+     */
+    @Transactional
+    public int updateAll(TaskFilterDto filterDto, TaskBulkUpdateDto updateDto) {
+        requireFilter(filterDto);
+        var values = new HashMap<String, Object>();
+        updateDto.getStatus().ifPresent(slug -> values.put("taskStatus", findStatusBySlug(slug)));
+        updateDto.getAssigneeId().ifPresent(userId -> values.put("assignee", findUserById(userId)));
+        if (values.isEmpty()) {
+            return 0;
+        }
+        var updated = 0;
+        var snapshots = new ArrayList<TaskSnapshot>();
+        var previous = new ArrayList<TaskSnapshot>();
+        var changes = new HashMap<Long, TaskChanges>();
+        for (var chunk : chunks(taskRepository.findIds(filterBuilder.build(filterDto)))) {
+            var before = findSnapshots(chunk);
+            previous.addAll(before);
+            updated += taskRepository.bulkUpdate(chunk, values);
+            // re-read under the row locks taken by the update, so snapshots carry the versions it assigned
+            snapshots.addAll(findSnapshots(chunk));
+            for (var task : before) {
+                var taskChanges = new TaskChanges();
+                updateDto.getAssigneeId().ifPresent(userId ->
+                        taskChanges.record(TaskChanges.ASSIGNEE_ID, task.assigneeId(), userId));
+                updateDto.getStatus().ifPresent(slug ->
+                        taskChanges.record(TaskChanges.STATUS, task.statusSlug(), slug));
+                changes.put(task.id(), taskChanges);
+            }
+        }
+        countCache.invalidate(Task.class);
+        collectionVersions.bump(Task.class);
+        eventPublisher.publishEvent(new TaskChangedEvent(snapshots, List.of(), TaskChangedEvent.byId(previous)));
+        historyWriter.recordAll(changes);
+        return updated;
+    }
+
+    /**
+     * Deletes every task matching a non-empty filter together with its label links.
+     *
+     * @param filterDto filter, at least one criterion is required
+     * @return number of deleted tasks
+     */
+    @Transactional
+    public int deleteAll(TaskFilterDto filterDto) {
+        requireFilter(filterDto);
+        var ids = taskRepository.findIds(filterBuilder.build(filterDto));
+        var deleted = 0;
+        var previous = new ArrayList<TaskSnapshot>();
+        for (var chunk : chunks(ids)) {
+            previous.addAll(findSnapshots(chunk));
+            deleted += taskRepository.bulkDelete(chunk);
+        }
+        countCache.invalidate(Task.class);
+        collectionVersions.bump(Task.class);
+        eventPublisher.publishEvent(TaskChangedEvent.ofRemoved(ids, previous));
+        return deleted;
+    }
+
+    private List<TaskSnapshot> findSnapshots(List<Long> ids) {
+        var labelIds = new HashMap<Long, List<Long>>();
+        taskRepository.findLabelIdsByTaskIds(ids).forEach(link -> labelIds
+                .computeIfAbsent(link.taskId(), taskId -> new ArrayList<>())
+                .add(link.labelId()));
+        return taskRepository.findSnapshotsByIds(ids).stream()
+                .map(task -> task.withLabelIds(labelIds.getOrDefault(task.id(), List.of())))
+                .toList();
+    }
+
+    private TaskStatus findStatusBySlug(String slug) {
+        return referenceDataCache.getStatusBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with slug=%s not found".formatted(slug)));
+    }
+
+    private User findUserById(Long id) {
+        return userService.getById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User with id=%d not found".formatted(id)));
+    }
+
+    private static void requireFilter(TaskFilterDto filterDto) {
+        if (filterDto.isEmpty()) {
+            throw new EmptyFilterException("Bulk changes require at least one filter parameter");
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        var chunks = new ArrayList<List<Long>>();
+        for (var from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
     }
 
+    @Transactional
     public void delete(Long id) {
+        var previous = findSnapshots(List.of(id));
         taskRepository.deleteById(id);
+        countCache.invalidate(Task.class);
+        eventPublisher.publishEvent(TaskChangedEvent.ofRemoved(List.of(id), previous));
     }
 
 }
@@ -1,12 +1,16 @@
 package hexlet.code.service;
 
+import hexlet.code.component.CollectionVersions;
 import hexlet.code.dto.status.StatusCreateDto;
 import hexlet.code.dto.status.StatusUpdateDto;
+import hexlet.code.event.ReferenceDataChangedEvent;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +23,14 @@ public final class TaskStatusService {
 
     private final TaskStatusMapper mapper;
 
+    private final CollectionVersions collectionVersions;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
     public TaskStatus create(StatusCreateDto createDto) {
-        var status = mapper.toDomain(createDto);
-        return repository.save(status);
+        return transactionTemplate.execute(tx -> published(repository.save(mapper.toDomain(createDto))));
     }
 
     public Optional<TaskStatus> getById(Long id) {
@@ -32,18 +41,42 @@ public final class TaskStatusService {
         return repository.findBySlug(slug);
     }
 
+    /**
+     * Strong ETag of the status with the given id, read without loading the entity.
+     *
+     * @param id status id
+     * @return ETag value, or empty if there is no such status
+     */
+    public Optional<String> getETag(Long id) {
+        return repository.findVersionById(id).map(String::valueOf);
+    }
+
+    public String getListETag() {
+        return collectionVersions.tag(TaskStatus.class);
+    }
+
     public List<TaskStatus> getAll() {
         return repository.findAll();
     }
 
     public void delete(Long id) {
-        repository.deleteById(id);
+        transactionTemplate.executeWithoutResult(tx -> repository.findById(id).ifPresent(status -> {
+            repository.delete(status);
+            eventPublisher.publishEvent(ReferenceDataChangedEvent.removed(ReferenceDataChangedEvent.TASK_STATUS, id));
+        }));
     }
 
     public Optional<TaskStatus> update(Long id, StatusUpdateDto updateDto) {
-        return getById(id)
+        return transactionTemplate.execute(tx -> getById(id)
                 .map(taskStatus -> mapper.update(taskStatus, updateDto))
-                .map(repository::save);
+                .map(repository::save)
+                .map(this::published));
+    }
+
+    private TaskStatus published(TaskStatus status) {
+        eventPublisher.publishEvent(ReferenceDataChangedEvent.saved(
+                ReferenceDataChangedEvent.TASK_STATUS, status.getId(), mapper.domainTo(status)));
+        return status;
     }
 
 }
@@ -1,5 +1,6 @@
 package hexlet.code.service;
 
+import hexlet.code.component.CollectionVersions;
 import hexlet.code.dto.user.UserCreateDto;
 
 import hexlet.code.dto.user.UserUpdateDto;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,8 @@ public final class UserService {
 
     private final PasswordEncoder encoder;
 
+    private final CollectionVersions collectionVersions;
+
     public User create(UserCreateDto createDto) {
 
         var user = userMapper.toDomain(createDto);
@@ -31,6 +35,20 @@ public final class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Strong ETag of the user with the given id, read without loading the entity.
+     *
+     * @param id user id
+     * @return ETag value, or empty if there is no such user
+     */
+    public Optional<String> getETag(Long id) {
+        return userRepository.findVersionById(id).map(String::valueOf);
+    }
+
+    public String getListETag() {
+        return collectionVersions.tag(User.class);
+    }
+
     public List<User> getAll() {
         return userRepository.findAll();
     }
@@ -43,6 +61,10 @@ public final class UserService {
         return userRepository.findById(id);
     }
 
+    public List<User> getAllById(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     public void deleteById(Long id) {
         userRepository.deleteById(id);
     }
@@ -1,5 +1,7 @@
 package hexlet.code.util;
 
+import hexlet.code.component.JwtProperties;
+import hexlet.code.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -13,14 +15,23 @@ import java.time.Instant;
 @RequiredArgsConstructor
 public final class JwtUtils {
 
+    /**
+     * Claim carrying the user id, so ownership checks need no users-table lookup.
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
     private final JwtEncoder encoder;
 
-    public String generateToken(String subject) {
+    private final JwtProperties jwtProperties;
+
+    public String generateToken(User user) {
         var now = Instant.now();
         var claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
-                .subject(subject)
+                .expiresAt(now.plus(jwtProperties.getTtl()))
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
                 .build();
         return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
     }
@@ -0,0 +1,11 @@
+-- Indexes for the predicates built by TaskSpecificationBuilder. Listings are ordered by id,
+-- so id is appended to let filtered pages be read in index order.
+
+-- assigneeId filter
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id ON tasks (assignee_id, id);
+
+-- status filter, alone or combined with assigneeId
+CREATE INDEX IF NOT EXISTS idx_tasks_status_assignee ON tasks (task_status_id, assignee_id, id);
+
+-- labelId filter; the primary key (task_id, label_id) only serves lookups by task
+CREATE INDEX IF NOT EXISTS idx_task_labels_label_id ON task_labels (label_id, task_id);
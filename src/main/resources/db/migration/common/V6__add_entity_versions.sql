@@ -0,0 +1,5 @@
+-- Optimistic lock versions, also used as ETags of single resources.
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE labels ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE task_statuses ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
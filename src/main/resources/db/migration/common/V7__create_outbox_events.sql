@@ -0,0 +1,12 @@
+-- Transactional outbox: change events written with the change itself and drained by OutboxPublisher.
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id             BIGINT        NOT NULL,
+    aggregate_type VARCHAR(32)   NOT NULL,
+    aggregate_id   BIGINT        NOT NULL,
+    event_type     VARCHAR(32)   NOT NULL,
+    payload        VARCHAR(8000) NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
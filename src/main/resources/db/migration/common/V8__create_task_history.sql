@@ -0,0 +1,14 @@
+-- Append-only field-level history of tasks. Rows outlive their task, so there is no foreign key;
+-- the index serves the newest-first keyset pages of one task.
+CREATE SEQUENCE task_history_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_history (
+    id         BIGINT        NOT NULL,
+    task_id    BIGINT        NOT NULL,
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP(6)  NOT NULL,
+    changes    VARCHAR(8000) NOT NULL,
+    CONSTRAINT pk_task_history PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_task_history_task_id ON task_history (task_id, id);
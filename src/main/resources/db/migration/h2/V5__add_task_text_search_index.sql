@@ -0,0 +1,4 @@
+-- Word search over name and description for ?q=, kept up to date by triggers on tasks.
+CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init';
+CALL FT_INIT();
+CALL FT_CREATE_INDEX('PUBLIC', 'TASKS', 'NAME,DESCRIPTION');
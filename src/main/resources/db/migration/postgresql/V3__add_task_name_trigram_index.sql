@@ -0,0 +1,4 @@
+-- titleCont is matched with lower(name) LIKE '%...%', which a b-tree index cannot serve.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_lower_name_trgm ON tasks USING gin (lower(name) gin_trgm_ops);
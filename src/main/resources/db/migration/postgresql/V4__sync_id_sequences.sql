@@ -0,0 +1,12 @@
+-- Databases created before migrations were introduced may hold ids beyond their sequences.
+-- Ids are allocated in pooled blocks of 50 ending at the sequence value, so keep it at least max(id) + 50.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS labels_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_statuses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users) + 50, (SELECT last_value FROM users_seq)));
+SELECT setval('labels_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM labels) + 50, (SELECT last_value FROM labels_seq)));
+SELECT setval('task_statuses_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM task_statuses) + 50, (SELECT last_value FROM task_statuses_seq)));
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks) + 50, (SELECT last_value FROM tasks_seq)));
@@ -0,0 +1,3 @@
+-- Word search over name and description for ?q=; the expression must match TaskTextSearchFunctions.
+CREATE INDEX IF NOT EXISTS idx_tasks_text_search ON tasks
+    USING gin (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, '')));
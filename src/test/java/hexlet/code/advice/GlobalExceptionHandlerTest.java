@@ -1,11 +1,16 @@
 package hexlet.code.advice;
 
+import hexlet.code.exception.LoginCapacityExceededException;
+import hexlet.code.exception.PreconditionFailedException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 class GlobalExceptionHandlerTest {
@@ -54,4 +59,43 @@ class GlobalExceptionHandlerTest {
                 .matches(b -> b.getDetails().contains("Error"));
     }
 
+    @Test
+    @DisplayName("Should return 429 when the login pool is saturated")
+    void checkHandleLoginCapacityExceeded() {
+        var ex = new LoginCapacityExceededException("Login queue is full", new RejectedExecutionException());
+
+        var response = handler.handleLoginCapacityExceeded(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        var body = response.getBody();
+        assertThat(body).isNotNull()
+                .matches(b -> b.getError().equals("Too many requests"));
+    }
+
+    @Test
+    @DisplayName("Should return 412 when If-Match does not match")
+    void checkHandlePreconditionFailed() {
+        var ex = new PreconditionFailedException("Task with id=1 does not match \"0.0\"");
+
+        var response = handler.handlePreconditionFailed(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        var body = response.getBody();
+        assertThat(body).isNotNull()
+                .matches(b -> b.getError().equals("Precondition failed"));
+    }
+
+    @Test
+    @DisplayName("Should return 409 on a concurrent modification")
+    void checkHandleOptimisticLocking() {
+        var ex = new OptimisticLockingFailureException("Row was updated by another transaction");
+
+        var response = handler.handleOptimisticLocking(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        var body = response.getBody();
+        assertThat(body).isNotNull()
+                .matches(b -> b.getError().equals("Conflict"));
+    }
+
 }
@@ -0,0 +1,45 @@
+package hexlet.code.component;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+public final class PinningMonitorTest {
+
+    private static final Duration PINNED_FOR = Duration.ofMillis(100);
+
+    private static final Duration REPORT_WAIT = Duration.ofSeconds(10);
+
+    private final Object monitor = new Object();
+
+    @Autowired
+    private PinningMonitor pinningMonitor;
+
+    @Test
+    @DisplayName("Should report a virtual thread blocking inside a synchronized block")
+    void checkPinnedThreadReported() throws InterruptedException {
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        await().atMost(REPORT_WAIT).untilAsserted(() ->
+                assertThat(pinningMonitor.report())
+                        .anySatisfy(stack -> assertThat(stack.stackTrace()).contains("sleepWhileHoldingMonitor")));
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(PINNED_FOR);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.user.UserUpdateDto;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.CustomUserDetailsService;
+import hexlet.code.service.UserService;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public final class PrincipalCacheTest {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(Instancio.of(modelGenerator.getUserModel()).create());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve a loaded principal from the cache")
+    void checkPrincipalHit() {
+        userDetailsService.loadUserByUsername(user.getEmail());
+
+        var cached = principalCache.getByEmail(user.getEmail(), email -> Optional.empty());
+
+        assertThat(cached).get().extracting(User::getId).isEqualTo(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should evict a principal when the user is updated")
+    void checkPrincipalEvictedOnUpdate() {
+        var previousEmail = user.getEmail();
+        userDetailsService.loadUserByUsername(previousEmail);
+
+        var updateDto = new UserUpdateDto();
+        updateDto.setEmail("evicted@example.com");
+        userService.update(user.getId(), updateDto);
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(previousEmail))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(userDetailsService.loadUserByUsername("evicted@example.com").getUsername())
+                .isEqualTo("evicted@example.com");
+    }
+
+    @Test
+    @DisplayName("Should not keep a principal re-cached by a concurrent lookup before commit")
+    void checkPrincipalEvictedAfterCommit() {
+        var previousEmail = user.getEmail();
+        transactionTemplate.executeWithoutResult(status -> {
+            var updated = userRepository.findById(user.getId()).orElseThrow();
+            updated.setEmail("committed@example.com");
+            userRepository.saveAndFlush(updated);
+            CompletableFuture.runAsync(() -> userDetailsService.loadUserByUsername(previousEmail)).join();
+        });
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(previousEmail))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+}
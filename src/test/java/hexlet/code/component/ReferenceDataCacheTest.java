@@ -0,0 +1,89 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.status.StatusUpdateDto;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskStatusService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public final class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private TaskStatusService statusService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TaskStatus status;
+
+    @BeforeEach
+    void setUp() {
+        status = statusRepository.save(TaskStatus.builder().name("Cached").slug("cached").build());
+        referenceDataCache.warmUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statusRepository.deleteById(status.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve warmed up statuses without misses")
+    void checkStatusHit() {
+        var misses = statusRequests("miss");
+
+        assertThat(referenceDataCache.getStatusBySlug("cached")).contains(status);
+        assertThat(statusRequests("miss")).isEqualTo(misses);
+    }
+
+    @Test
+    @DisplayName("Should evict a status when it is updated")
+    void checkStatusEvictedOnUpdate() {
+        statusService.update(status.getId(), StatusUpdateDto.builder().slug("renamed").build());
+
+        assertThat(referenceDataCache.getStatusBySlug("cached")).isEmpty();
+        assertThat(referenceDataCache.getStatusBySlug("renamed"))
+                .get()
+                .extracting(TaskStatus::getId)
+                .isEqualTo(status.getId());
+    }
+
+    @Test
+    @DisplayName("Should not keep a status re-cached by a concurrent lookup before commit")
+    void checkStatusEvictedAfterCommit() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            var updated = statusRepository.findById(status.getId()).orElseThrow();
+            updated.setSlug("committed");
+            statusRepository.saveAndFlush(updated);
+            CompletableFuture.runAsync(() -> referenceDataCache.getStatusBySlug("cached")).join();
+        });
+
+        assertThat(referenceDataCache.getStatusBySlug("cached")).isEmpty();
+    }
+
+    private double statusRequests(String result) {
+        return meterRegistry.counter("reference.cache.requests", "cache", "status", "result", result).count();
+    }
+
+}
@@ -0,0 +1,70 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class TotalCountCacheTest {
+
+    private static final long MAX_SIZE = 100;
+
+    private final AtomicLong queries = new AtomicLong();
+
+    private TotalCountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new AppCacheProperties();
+        properties.getCount().setEnabled(true);
+        properties.getCount().setTtl(Duration.ofMinutes(1));
+        properties.getCount().setMaxSize(MAX_SIZE);
+        countCache = new TotalCountCache(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated count from the cache until the type is invalidated")
+    void checkCountCachedUntilInvalidated() {
+        countCache.get(Task.class, null, queries::incrementAndGet);
+        assertThat(countCache.get(Task.class, null, queries::incrementAndGet)).isEqualTo(1);
+
+        countCache.invalidate(Label.class);
+        assertThat(countCache.get(Task.class, null, queries::incrementAndGet)).isEqualTo(1);
+
+        countCache.invalidate(Task.class);
+        assertThat(countCache.get(Task.class, null, queries::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a count cached until the invalidating transaction completes")
+    void checkInvalidatedAfterCompletion() {
+        countCache.get(Task.class, null, queries::incrementAndGet);
+
+        TransactionSynchronizationManager.initSynchronization();
+        countCache.invalidate(Task.class);
+        assertThat(countCache.get(Task.class, null, queries::incrementAndGet)).isEqualTo(1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(countCache.get(Task.class, null, queries::incrementAndGet)).isEqualTo(2);
+    }
+
+}
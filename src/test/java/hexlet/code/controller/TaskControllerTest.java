@@ -2,11 +2,16 @@ package hexlet.code.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
+import hexlet.code.dto.task.TaskBulkUpdateDto;
 import hexlet.code.dto.task.TaskCreateDto;
+import hexlet.code.dto.task.TaskPatchDto;
 import hexlet.code.dto.task.TaskUpdateDto;
+import hexlet.code.history.TaskHistoryWriter;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
@@ -23,24 +28,34 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -48,6 +63,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public final class TaskControllerTest {
 
+    private static final Duration EVENT_WAIT = Duration.ofSeconds(5);
+
+    private static final long EVENT_POLL_MILLIS = 20;
+
+    private static final long LAST_PAGED_INDEX = 3;
+
     @Autowired
     private MockMvc mvc;
 
@@ -60,6 +81,9 @@ public final class TaskControllerTest {
     @Autowired
     private TaskStatusRepository statusRepository;
 
+    @Autowired
+    private LabelRepository labelRepository;
+
     @Autowired
     private WebApplicationContext wac;
 
@@ -69,6 +93,9 @@ public final class TaskControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskHistoryWriter historyWriter;
+
     private JwtRequestPostProcessor token;
 
     private User testUser;
@@ -150,6 +177,330 @@ public final class TaskControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Should handle GET with q to search task names and descriptions by relevance")
+    void checkGetTasksByText() throws Exception {
+        var describedTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        describedTask.setIndex(testTask.getIndex() + 1);
+        describedTask.setName("Cleanup");
+        describedTask.setDescription("Move the quarterly archive");
+        describedTask.setTaskStatus(testStatus);
+        describedTask = taskRepository.save(describedTask);
+
+        var namedTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        namedTask.setIndex(testTask.getIndex() + 2);
+        namedTask.setName("Quarterly report");
+        namedTask.setDescription("Collect the numbers");
+        namedTask.setTaskStatus(testStatus);
+        namedTask = taskRepository.save(namedTask);
+
+        mvc.perform(get("/api/tasks?q=quarterly").with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(namedTask.getId()))
+                .andExpect(jsonPath("$[1].id").value(describedTask.getId()))
+                .andExpect(header().string("X-Total-Count", "2"));
+    }
+
+    @Test
+    @DisplayName("Should handle GET /api/tasks/search by word prefix and forget deleted tasks")
+    void checkSearchTasks() throws Exception {
+        var described = TaskCreateDto.builder()
+                .title("Cleanup")
+                .content("Move the quarterly archive")
+                .status(testStatus.getSlug())
+                .build();
+        var named = TaskCreateDto.builder()
+                .title("Quarterly report")
+                .content("Collect the numbers")
+                .status(testStatus.getSlug())
+                .build();
+        var createRequest = post("/api/tasks/batch")
+                .with(token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(described, named)));
+        var created = mvc.perform(createRequest)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer describedId = JsonPath.read(created, "$.created[0].id");
+        Integer namedId = JsonPath.read(created, "$.created[1].id");
+
+        mvc.perform(get("/api/tasks/search").param("q", "quar").with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(namedId))
+                .andExpect(jsonPath("$[1].id").value(describedId));
+
+        mvc.perform(delete("/api/tasks/" + namedId).with(token))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/tasks/search").param("q", "quarterly arch").with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(describedId));
+    }
+
+    @Test
+    @DisplayName("Should answer GET /api/tasks/{id} with 304 while the ETag matches")
+    void checkConditionalShow() throws Exception {
+        var etag = mvc.perform(get("/api/tasks/" + testTask.getId()).with(token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/tasks/" + testTask.getId()).with(token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        var updateDto = TaskUpdateDto.builder().title("Changed").build();
+        mvc.perform(put("/api/tasks/" + testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/tasks/" + testTask.getId()).with(token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.title").value("Changed"));
+    }
+
+    @Test
+    @DisplayName("Should answer GET /api/tasks with 304 until a task changes")
+    void checkConditionalIndex() throws Exception {
+        var etag = mvc.perform(get("/api/tasks").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/tasks").with(token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mvc.perform(delete("/api/tasks/" + testTask.getId()).with(token))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/tasks").with(token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should handle GET to show tasks with their label ids correctly")
+    void checkGetTasksWithLabels() throws Exception {
+        var label = labelRepository.findByName("listing")
+                .orElseGet(() -> labelRepository.save(new Label("listing")));
+        var labeledTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        labeledTask.setIndex(testTask.getIndex() + 1);
+        labeledTask.setTaskStatus(testStatus);
+        labeledTask.setLabels(new HashSet<>(Set.of(label)));
+        labeledTask = taskRepository.save(labeledTask);
+
+        mvc.perform(get("/api/tasks?labelId=" + label.getId()).with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(labeledTask.getId()))
+                .andExpect(jsonPath("$[0].taskLabelIds[0]").value(label.getId()))
+                .andExpect(header().string("X-Total-Count", "1"));
+    }
+
+    @Test
+    @DisplayName("Should handle GET with limit and cursor to page through tasks correctly")
+    void checkGetTasksByCursor() throws Exception {
+        for (var index = 2L; index <= LAST_PAGED_INDEX; index++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setIndex(index);
+            task.setTaskStatus(testStatus);
+            taskRepository.save(task);
+        }
+
+        var firstPage = mvc.perform(get("/api/tasks?limit=2").with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(testTask.getId()))
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse();
+
+        var nextCursor = firstPage.getHeader("X-Next-Cursor");
+        mvc.perform(get("/api/tasks?limit=2&after=" + nextCursor).with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].index").value(LAST_PAGED_INDEX))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should handle GET with malformed cursor correctly")
+    void checkGetTasksByInvalidCursor() throws Exception {
+        mvc.perform(get("/api/tasks?after=not-a-cursor").with(token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("Should create valid tasks of a batch and report rejected ones")
+    void checkCreateTaskBatch() throws Exception {
+        var first = TaskCreateDto.builder()
+                .title("First")
+                .index(testTask.getIndex() + 1)
+                .status(testStatus.getSlug())
+                .assigneeId(testUser.getId())
+                .build();
+        var second = TaskCreateDto.builder()
+                .title("Second")
+                .status(testStatus.getSlug())
+                .build();
+        var rejected = TaskCreateDto.builder()
+                .title("Rejected")
+                .index(testTask.getIndex())
+                .status("unknown")
+                .build();
+        var tasksBefore = taskRepository.count();
+        var request = post("/api/tasks/batch")
+                .with(token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(first, second, rejected)));
+
+        mvc.perform(request)
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created.length()").value(2))
+                .andExpect(jsonPath("$.created[0].title").value("First"))
+                .andExpect(jsonPath("$.created[0].assignee_id").value(testUser.getId().intValue()))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].position").value(2))
+                .andExpect(jsonPath("$.errors[0].details.length()").value(2));
+
+        assertThat(taskRepository.count()).isEqualTo(tasksBefore + List.of(first, second).size());
+    }
+
+    @Test
+    @DisplayName("Should move every task matching the filter to another status")
+    void checkBulkUpdateByFilter() throws Exception {
+        var done = statusRepository.save(TaskStatus.builder().name("Done").slug("done").build());
+        var updateDto = TaskBulkUpdateDto.builder().status(done.getSlug()).build();
+        var request = patch("/api/tasks?status=" + testStatus.getSlug())
+                .with(token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto));
+
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        var updatedTask = taskRepository.findWithRelationsById(testTask.getId()).orElseThrow();
+        assertThat(updatedTask.getStatusSlug()).isEqualTo(done.getSlug());
+    }
+
+    @Test
+    @DisplayName("Should delete every task matching the filter")
+    void checkBulkDeleteByFilter() throws Exception {
+        var request = delete("/api/tasks?assigneeId=" + testUser.getId()).with(token);
+
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertThat(taskRepository.existsById(testTask.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject bulk changes without a filter")
+    void checkBulkDeleteWithoutFilter() throws Exception {
+        mvc.perform(delete("/api/tasks").with(token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Filter required"));
+
+        assertThat(taskRepository.existsById(testTask.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stream filtered tasks as NDJSON correctly")
+    void checkStreamTasks() throws Exception {
+        var otherTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        otherTask.setIndex(testTask.getIndex() + 1);
+        otherTask.setName("Other");
+        otherTask.setTaskStatus(testStatus);
+        taskRepository.save(otherTask);
+
+        var streamRequest = get("/api/tasks?titleCont=" + testTask.getName())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .with(token);
+        var asyncResult = mvc.perform(streamRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = body.lines().toList();
+        assertThat(lines).hasSize(1);
+        assertThat(JsonPath.<Integer>read(lines.get(0), "$.id").longValue()).isEqualTo(testTask.getId());
+        assertThat(JsonPath.<String>read(lines.get(0), "$.status")).isEqualTo(testStatus.getSlug());
+    }
+
+    @Test
+    @DisplayName("Should push committed changes matching the filter as server-sent events")
+    void checkTaskEvents() throws Exception {
+        var subscription = mvc.perform(get("/api/tasks/events?status=" + testStatus.getSlug())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var updateDto = TaskUpdateDto.builder().title("Streamed").build();
+        mvc.perform(put("/api/tasks/" + testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk());
+        mvc.perform(delete("/api/tasks/" + testTask.getId()).with(token))
+                .andExpect(status().isNoContent());
+
+        var body = awaitContent(subscription, "event:task-removed");
+        assertThat(body)
+                .contains("event:task-saved")
+                .contains("\"title\":\"Streamed\"")
+                .contains("\"id\":" + testTask.getId());
+    }
+
+    @Test
+    @DisplayName("Should not stream changes of tasks that never matched the filter")
+    void checkTaskEventsSkipNonMatching() throws Exception {
+        var otherStatus = statusRepository.save(Instancio.of(modelGenerator.getTaskStatusModel()).create());
+        var subscription = mvc.perform(get("/api/tasks/events?status=" + otherStatus.getSlug())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var updateDto = TaskUpdateDto.builder().title("Unrelated").build();
+        mvc.perform(put("/api/tasks/" + testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk());
+        var createDto = TaskCreateDto.builder()
+                .index(testTask.getIndex() + 1)
+                .title("Matching")
+                .status(otherStatus.getSlug())
+                .build();
+        mvc.perform(post("/api/tasks")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDto)))
+                .andExpect(status().isCreated());
+
+        var body = awaitContent(subscription, "event:task-saved");
+        assertThat(body)
+                .contains("\"title\":\"Matching\"")
+                .doesNotContain("Unrelated")
+                .doesNotContain("event:task-removed");
+    }
+
     @Test
     @DisplayName("Should handle valid POST to create new Task correctly")
     void checkCreateTask() throws Exception {
@@ -259,6 +610,91 @@ public final class TaskControllerTest {
                 .hasFieldOrPropertyWithValue("description", expectedContent);
     }
 
+    @Test
+    @DisplayName("Should handle PATCH adding a label without replacing the other fields")
+    void checkPatchAddLabel() throws Exception {
+        var label = labelRepository.findByName("patched")
+                .orElseGet(() -> labelRepository.save(new Label("patched")));
+        var patchDto = TaskPatchDto.builder().addLabelIds(List.of(label.getId())).build();
+
+        mvc.perform(patch("/api/tasks/" + testTask.getId())
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.title").value(testTask.getName()))
+                .andExpect(jsonPath("$.taskLabelIds[0]").value(label.getId()));
+
+        var patchedTask = taskRepository.findWithRelationsById(testTask.getId()).orElseThrow();
+        assertThat(patchedTask.getLabelIds()).containsExactly(label.getId());
+    }
+
+    @Test
+    @DisplayName("Should handle PATCH with If-Match only while the ETag is current")
+    void checkPatchIfMatch() throws Exception {
+        var etag = mvc.perform(get("/api/tasks/" + testTask.getId()).with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        var firstPatch = TaskPatchDto.builder().title("First").build();
+        mvc.perform(patch("/api/tasks/" + testTask.getId())
+                        .with(token)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(firstPatch)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.title").value("First"));
+
+        var stalePatch = TaskPatchDto.builder().title("Stale").build();
+        mvc.perform(patch("/api/tasks/" + testTask.getId())
+                        .with(token)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stalePatch)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Precondition failed"));
+
+        var actualTask = taskRepository.findById(testTask.getId()).orElseThrow();
+        assertThat(actualTask.getName()).isEqualTo("First");
+    }
+
+    @Test
+    @DisplayName("Should record changed task fields and page through the history newest first")
+    void checkTaskHistory() throws Exception {
+        var originalTitle = testTask.getName();
+        for (var title : List.of("First change", "Second change")) {
+            var updateDto = TaskUpdateDto.builder()
+                    .title(title)
+                    .content(testTask.getDescription())
+                    .build();
+            mvc.perform(put("/api/tasks/" + testTask.getId())
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateDto)))
+                    .andExpect(status().isOk());
+        }
+        historyWriter.flush();
+
+        var cursor = mvc.perform(get("/api/tasks/" + testTask.getId() + "/history?limit=1").with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].changedBy").value("hexlet@example.com"))
+                .andExpect(jsonPath("$[0].changes.title[0]").value("First change"))
+                .andExpect(jsonPath("$[0].changes.title[1]").value("Second change"))
+                .andExpect(jsonPath("$[0].changes.content").doesNotExist())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mvc.perform(get("/api/tasks/" + testTask.getId() + "/history?limit=1&after=" + cursor).with(token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].changes.title[0]").value(originalTitle))
+                .andExpect(jsonPath("$[0].changes.title[1]").value("First change"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     @DisplayName("Should handle DELETE by ID correctly")
     void checkDeleteById() throws Exception {
@@ -327,4 +763,14 @@ public final class TaskControllerTest {
                 .hasSize(expectedLabels.size());
     }
 
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        var deadline = System.nanoTime() + EVENT_WAIT.toNanos();
+        var body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(EVENT_POLL_MILLIS);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
 }
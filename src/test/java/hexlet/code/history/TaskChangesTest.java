@@ -0,0 +1,61 @@
+package hexlet.code.history;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangesTest {
+
+    private static final long FIRST = 1L;
+
+    private static final long SECOND = 2L;
+
+    private static final long THIRD = 3L;
+
+    private static final long FOURTH = 4L;
+
+    private static final long FIFTH = 5L;
+
+    @Test
+    @DisplayName("Should keep only fields whose value changed, with the first old value")
+    void checkDiff() {
+        var changes = new TaskChanges();
+        changes.record(TaskChanges.TITLE, "Old", "Draft");
+        changes.record(TaskChanges.TITLE, "Draft", "New");
+        changes.record(TaskChanges.CONTENT, "Same", "Same");
+        changes.record(TaskChanges.ASSIGNEE_ID, 1L, null);
+        changes.record(TaskChanges.STATUS, "draft", "done");
+        changes.record(TaskChanges.STATUS, "done", "draft");
+
+        assertThat(changes.diff())
+                .containsOnlyKeys(TaskChanges.TITLE, TaskChanges.ASSIGNEE_ID)
+                .containsEntry(TaskChanges.TITLE, List.of("Old", "New"))
+                .containsEntry(TaskChanges.ASSIGNEE_ID, Arrays.asList(1L, null));
+    }
+
+    @Test
+    @DisplayName("Should reduce label changes to removed and added ids")
+    void checkLabelsDiff() {
+        var changes = new TaskChanges();
+        changes.recordLabels(List.of(THIRD, FIRST, SECOND), List.of(SECOND, THIRD, FOURTH));
+        changes.recordLabels(List.of(SECOND, THIRD, FOURTH), List.of(SECOND, THIRD, FOURTH, FIFTH));
+
+        assertThat(changes.diff())
+                .containsEntry(TaskChanges.LABELS, Map.of("removed", List.of(FIRST), "added", List.of(FOURTH, FIFTH)));
+    }
+
+    @Test
+    @DisplayName("Should be empty when labels end up unchanged")
+    void checkEmpty() {
+        var changes = new TaskChanges();
+        changes.recordLabels(List.of(1L, 2L), List.of(2L, 1L));
+
+        assertThat(changes.isEmpty()).isTrue();
+    }
+
+}
@@ -0,0 +1,113 @@
+package hexlet.code.outbox;
+
+import hexlet.code.dto.label.LabelCreateDto;
+import hexlet.code.dto.task.TaskCreateDto;
+import hexlet.code.event.ReferenceDataChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.OutboxEventRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.LabelService;
+import hexlet.code.service.TaskService;
+import hexlet.code.util.RecordingOutboxSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.outbox.poll-interval=1h")
+public final class OutboxPublisherTest {
+
+    @Autowired
+    private OutboxPublisher publisher;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    private TaskStatus status;
+
+    private Label label;
+
+    @BeforeEach
+    void setUp() {
+        publisher.publishPending();
+        RecordingOutboxSink.clear();
+        status = statusRepository.save(TaskStatus.builder().name("Outbox").slug("outbox").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RecordingOutboxSink.setFailing(false);
+        tasks.forEach(task -> taskService.delete(task.getId()));
+        tasks.clear();
+        if (nonNull(label)) {
+            labelService.delete(label.getId());
+            label = null;
+        }
+        statusRepository.delete(status);
+        publisher.publishPending();
+    }
+
+    @Test
+    @DisplayName("Should publish task and label changes recorded with them and empty the outbox")
+    void checkPublishPending() {
+        var task = create("Published");
+        label = labelService.create(new LabelCreateDto("outbox"));
+
+        publisher.publishPending();
+
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(RecordingOutboxSink.messages())
+                .anyMatch(message -> message.aggregateType().equals(OutboxWriter.TASK)
+                        && message.aggregateId().equals(task.getId())
+                        && message.eventType().equals(OutboxWriter.SAVED)
+                        && message.payload().contains("\"title\":\"Published\""))
+                .anyMatch(message -> message.aggregateType().equals(ReferenceDataChangedEvent.LABEL)
+                        && message.aggregateId().equals(label.getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep events in the outbox while a sink fails")
+    void checkFailedDeliveryIsRetried() {
+        RecordingOutboxSink.setFailing(true);
+        var task = create("Retried");
+
+        assertThatThrownBy(publisher::publishPending).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxRepository.count()).isPositive();
+
+        RecordingOutboxSink.setFailing(false);
+        publisher.publishPending();
+
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(RecordingOutboxSink.messages())
+                .anyMatch(message -> message.aggregateId().equals(task.getId()));
+    }
+
+    private Task create(String title) {
+        var task = taskService.create(TaskCreateDto.builder().title(title).status(status.getSlug()).build());
+        tasks.add(task);
+        return task;
+    }
+
+}
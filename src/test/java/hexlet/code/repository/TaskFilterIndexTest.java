@@ -0,0 +1,158 @@
+package hexlet.code.repository;
+
+import hexlet.code.component.TaskSpecificationBuilder;
+import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.util.ModelGenerator;
+import hexlet.code.util.RecordingStatementInspector;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the queries generated for each filter and checks that the migrated indexes
+ * keep tasks and task_labels from being scanned in full.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "hexlet.code.util.RecordingStatementInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public final class TaskFilterIndexTest {
+
+    private static final int TASKS = 300;
+
+    private static final int STATUSES = 5;
+
+    private static final int USERS = 10;
+
+    private static final int LABELS = 10;
+
+    private static final List<String> SCANNED_TABLES = List.of("PUBLIC.TASKS", "PUBLIC.TASK_LABELS");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskSpecificationBuilder filterBuilder;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<TaskStatus> statuses;
+
+    private List<User> users;
+
+    private List<Label> labels;
+
+    @BeforeAll
+    void setUp() {
+        taskRepository.deleteAll();
+        statuses = new ArrayList<>();
+        users = new ArrayList<>();
+        labels = new ArrayList<>();
+        for (var i = 0; i < STATUSES; i++) {
+            statuses.add(TaskStatus.builder().name("Index status " + i).slug("index_status_" + i).build());
+        }
+        for (var i = 0; i < USERS; i++) {
+            users.add(Instancio.of(modelGenerator.getUserModel()).create());
+        }
+        for (var i = 0; i < LABELS; i++) {
+            labels.add(new Label("index_label_" + i));
+        }
+        statuses = statusRepository.saveAll(statuses);
+        users = userRepository.saveAll(users);
+        labels = labelRepository.saveAll(labels);
+
+        var tasks = new ArrayList<Task>();
+        for (var i = 0; i < TASKS; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setIndex((long) i + 1);
+            task.setTaskStatus(statuses.get(i % STATUSES));
+            task.setAssignee(users.get(i % USERS));
+            task.setLabels(new HashSet<>(Set.of(labels.get(i % LABELS))));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterAll
+    void tearDown() {
+        taskRepository.deleteAll();
+        labelRepository.deleteAll(labels);
+        statusRepository.deleteAll(statuses);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    @DisplayName("Should filter by assignee without scanning tasks")
+    void checkAssigneeFilterUsesIndex() {
+        var assigneeId = users.getFirst().getId();
+        var plan = explainFilter(filter -> filter.setAssigneeId(assigneeId), assigneeId);
+
+        assertNoFullScan(plan);
+    }
+
+    @Test
+    @DisplayName("Should filter by status without scanning tasks")
+    void checkStatusFilterUsesIndex() {
+        var slug = statuses.getFirst().getSlug();
+        var plan = explainFilter(filter -> filter.setStatus(slug), slug);
+
+        assertNoFullScan(plan);
+    }
+
+    @Test
+    @DisplayName("Should filter by label without scanning tasks or task labels")
+    void checkLabelFilterUsesIndex() {
+        var labelId = labels.getFirst().getId();
+        var plan = explainFilter(filter -> filter.setLabelId(labelId), labelId);
+
+        assertNoFullScan(plan);
+    }
+
+    private String explainFilter(Consumer<TaskFilterDto> filterSetup, Object parameter) {
+        var filter = new TaskFilterDto();
+        filterSetup.accept(filter);
+
+        RecordingStatementInspector.clear();
+        taskRepository.findRows(filterBuilder.build(filter), null);
+        var statements = RecordingStatementInspector.statements();
+        assertThat(statements).hasSize(1);
+
+        return jdbcTemplate.queryForObject("EXPLAIN " + statements.getFirst(), String.class, parameter);
+    }
+
+    private static void assertNoFullScan(String plan) {
+        assertThat(plan).startsWith("SELECT");
+        SCANNED_TABLES.forEach(table -> assertThat(plan).doesNotContain(table + ".tableScan"));
+    }
+
+}
@@ -0,0 +1,180 @@
+package hexlet.code.search;
+
+import hexlet.code.dto.status.StatusUpdateDto;
+import hexlet.code.dto.task.TaskBulkUpdateDto;
+import hexlet.code.dto.task.TaskCreateDto;
+import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.repository.projection.TaskRow;
+import hexlet.code.repository.projection.TaskSnapshot;
+import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStatusService;
+import hexlet.code.util.ModelGenerator;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.filter-index.enabled=true")
+public final class TaskBitmapIndexTest {
+
+    @Autowired
+    private TaskBitmapIndex bitmapIndex;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusService statusService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    private User assignee;
+
+    private TaskStatus todo;
+
+    private TaskStatus done;
+
+    private Label label;
+
+    @BeforeEach
+    void setUp() {
+        assignee = userRepository.save(Instancio.of(modelGenerator.getUserModel()).create());
+        todo = statusRepository.save(TaskStatus.builder().name("Bitmap todo").slug("bitmap_todo").build());
+        done = statusRepository.save(TaskStatus.builder().name("Bitmap done").slug("bitmap_done").build());
+        label = labelRepository.save(new Label("bitmap"));
+
+        tasks.add(create("First", todo, assignee, label));
+        tasks.add(create("Second", todo, null, label));
+        tasks.add(create("Third", done, assignee, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tasks.forEach(task -> taskService.delete(task.getId()));
+        tasks.clear();
+        labelRepository.delete(label);
+        statusRepository.deleteAll(List.of(todo, done));
+        userRepository.delete(assignee);
+    }
+
+    @Test
+    @DisplayName("Should answer combined filters from bitmaps")
+    void checkFilterIntersection() {
+        var filter = filter(todo.getSlug(), assignee.getId(), label.getId());
+
+        assertThat(bitmapIndex.supports(filter)).isTrue();
+        assertThat(bitmapIndex.findIds(filter, null, null)).containsExactly(tasks.getFirst().getId());
+        assertThat(taskService.count(filter(todo.getSlug(), null, null))).isEqualTo(2);
+        assertThat(taskService.getRows(filter(null, null, label.getId())))
+                .extracting(TaskRow::id)
+                .containsExactly(tasks.get(0).getId(), tasks.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should page through bitmap matches by id")
+    void checkPaging() {
+        var filter = filter(null, assignee.getId(), null);
+
+        var firstPage = taskService.getPage(filter, null, 1);
+        assertThat(firstPage.getItems()).extracting(TaskRow::id).containsExactly(tasks.get(0).getId());
+        assertThat(firstPage.getNextCursor()).isPresent();
+
+        var lastPage = taskService.getPage(filter, firstPage.getNextCursor().get(), 1);
+        assertThat(lastPage.getItems()).extracting(TaskRow::id).containsExactly(tasks.get(2).getId());
+        assertThat(lastPage.getNextCursor()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow bulk updates and deletes")
+    void checkSyncWithWrites() {
+        taskService.updateAll(filter(todo.getSlug(), null, null),
+                TaskBulkUpdateDto.builder().status(done.getSlug()).build());
+
+        assertThat(bitmapIndex.count(filter(todo.getSlug(), null, null))).isZero();
+        assertThat(bitmapIndex.count(filter(done.getSlug(), null, null))).isEqualTo(tasks.size());
+        assertThat(bitmapIndex.count(filter(done.getSlug(), null, label.getId()))).isEqualTo(2);
+
+        var deleted = tasks.removeFirst();
+        taskService.delete(deleted.getId());
+
+        assertThat(bitmapIndex.findIds(filter(null, null, label.getId()), null, null))
+                .containsExactly(tasks.getFirst().getId());
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot older than the indexed one")
+    void checkStaleSnapshotIgnored() {
+        var task = tasks.getFirst();
+        var stale = new TaskSnapshot(task.getId(), task.getVersion(), task.getName(), task.getDescription(),
+                assignee.getId(), todo.getId(), todo.getSlug()).withLabelIds(List.of(label.getId()));
+        taskService.updateAll(filter(todo.getSlug(), null, null),
+                TaskBulkUpdateDto.builder().status(done.getSlug()).build());
+
+        bitmapIndex.onTaskChanged(new TaskChangedEvent(List.of(stale), List.of(), Map.of()));
+
+        assertThat(bitmapIndex.count(filter(todo.getSlug(), null, null))).isZero();
+        assertThat(bitmapIndex.findIds(filter(done.getSlug(), assignee.getId(), null), null, null))
+                .contains(task.getId());
+    }
+
+    @Test
+    @DisplayName("Should keep matching tasks by status after the status slug is renamed")
+    void checkStatusRename() {
+        todo = statusService.update(todo.getId(), StatusUpdateDto.builder().slug("bitmap_renamed").build())
+                .orElseThrow();
+
+        var filter = filter("bitmap_renamed", null, null);
+        assertThat(bitmapIndex.supports(filter)).isTrue();
+        assertThat(bitmapIndex.count(filter)).isEqualTo(2);
+        assertThat(bitmapIndex.count(filter("bitmap_todo", null, null))).isZero();
+    }
+
+    private Task create(String title, TaskStatus status, User user, Label taskLabel) {
+        var createDto = TaskCreateDto.builder()
+                .title(title)
+                .status(status.getSlug())
+                .assigneeId(isNull(user) ? null : user.getId())
+                .taskLabelIds(isNull(taskLabel) ? null : List.of(taskLabel.getId()))
+                .build();
+        return taskService.create(createDto);
+    }
+
+    private static TaskFilterDto filter(String status, Long assigneeId, Long labelId) {
+        var filter = new TaskFilterDto();
+        filter.setStatus(status);
+        filter.setAssigneeId(assigneeId);
+        filter.setLabelId(labelId);
+        return filter;
+    }
+
+}
@@ -0,0 +1,51 @@
+package hexlet.code.search;
+
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.repository.projection.TaskSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    private static final long TASK_ID = 1L;
+
+    private static final long STATUS_ID = 1L;
+
+    private static final int LIMIT = 10;
+
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(null, null);
+
+    @Test
+    @DisplayName("Should ignore a snapshot older than the indexed one")
+    void checkStaleSnapshotIgnored() {
+        searchIndex.onTaskChanged(saved(snapshot(2L, "Newer")));
+        searchIndex.onTaskChanged(saved(snapshot(1L, "Older")));
+
+        assertThat(searchIndex.search("newer", LIMIT)).containsExactly(TASK_ID);
+        assertThat(searchIndex.search("older", LIMIT)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not revive a deleted task from a snapshot applied after its removal")
+    void checkRemovedTaskNotRevived() {
+        searchIndex.onTaskChanged(saved(snapshot(0L, "Deleted")));
+        searchIndex.onTaskChanged(new TaskChangedEvent(List.of(), List.of(TASK_ID), Map.of()));
+        searchIndex.onTaskChanged(saved(snapshot(1L, "Deleted")));
+
+        assertThat(searchIndex.search("deleted", LIMIT)).isEmpty();
+    }
+
+    private static TaskChangedEvent saved(TaskSnapshot task) {
+        return new TaskChangedEvent(List.of(task), List.of(), Map.of());
+    }
+
+    private static TaskSnapshot snapshot(long version, String name) {
+        return new TaskSnapshot(TASK_ID, version, name, null, null, STATUS_ID, "draft");
+    }
+
+}
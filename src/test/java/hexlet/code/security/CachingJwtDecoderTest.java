@@ -0,0 +1,74 @@
+package hexlet.code.security;
+
+import hexlet.code.component.AppCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class CachingJwtDecoderTest {
+
+    private static final long MAX_SIZE = 100;
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(2);
+
+    private static final Duration VALID_FOR = Duration.ofMinutes(1);
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AppCacheProperties.Spec spec;
+
+    @BeforeEach
+    void setUp() {
+        spec = new AppCacheProperties.Spec();
+        spec.setEnabled(true);
+        spec.setTtl(Duration.ofMinutes(1));
+        spec.setMaxSize(MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should verify a repeated token only once")
+    void checkRepeatedTokenIsVerifiedOnce() {
+        var decoder = new CachingJwtDecoder(delegateExpiringAt(Instant.now().plus(VALID_FOR)), spec, meterRegistry);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(verifications).hasValue(1);
+        assertThat(meterRegistry.get("jwt.verify").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should verify again once the cached token has expired")
+    void checkExpiredTokenIsVerifiedAgain() {
+        var decoder = new CachingJwtDecoder(delegateExpiringAt(Instant.now().minusSeconds(1)), spec, meterRegistry);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private JwtDecoder delegateExpiringAt(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("user@example.com")
+                    .issuedAt(expiresAt.minus(TOKEN_LIFETIME))
+                    .expiresAt(expiresAt)
+                    .build();
+        };
+    }
+
+}
@@ -0,0 +1,85 @@
+package hexlet.code.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.LoginExecutor;
+import hexlet.code.dto.user.AuthRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * We check that a login is rejected with 429 once the login pool and its queue are full.
+ */
+@SpringBootTest(properties = {"app.password.login-threads=1", "app.password.login-queue-capacity=1"})
+@AutoConfigureMockMvc
+public final class LoginCapacityTest {
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private LoginExecutor loginExecutor;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(wac)
+                .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return 429 on POST /api/login when the login pool is saturated")
+    void checkLoginRejectedWhenPoolSaturated() throws Exception {
+        var release = new CountDownLatch(1);
+        var running = loginExecutor.submit(() -> awaitRelease(release));
+        var queued = loginExecutor.submit(() -> awaitRelease(release));
+        try {
+            var authRequest = new AuthRequestDto();
+            authRequest.setUsername("hexlet@example.com");
+            authRequest.setPassword("password");
+            var loginRequest = post("/api/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsString(authRequest));
+
+            mvc.perform(loginRequest)
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath("$.error").value("Too many requests"));
+        } finally {
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+
+    private Void awaitRelease(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+}
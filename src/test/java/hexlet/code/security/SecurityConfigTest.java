@@ -1,5 +1,7 @@
 package hexlet.code.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.user.AuthRequestDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.util.ModelGenerator;
@@ -13,21 +15,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
 
+import static hexlet.code.util.JwtUtils.USER_ID_CLAIM;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.empty;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -50,6 +59,12 @@ public final class SecurityConfigTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private ObjectMapper om;
+
     private User owner;
 
     @BeforeEach
@@ -93,4 +108,66 @@ public final class SecurityConfigTest {
                 .andExpect(jsonPath("$.details", is(not(empty()))));
     }
 
+    @Test
+    @DisplayName("Should issue a token with uid and expiry claims on POST /api/login")
+    void checkLoginTokenClaims() throws Exception {
+        var token = login(owner.getEmail(), "password");
+
+        var jwt = jwtDecoder.decode(token);
+        assertThat(jwt.getSubject()).isEqualTo(owner.getEmail());
+        assertThat(jwt.<Number>getClaim(USER_ID_CLAIM).longValue()).isEqualTo(owner.getId());
+        assertThat(jwt.getExpiresAt()).isAfter(jwt.getIssuedAt());
+    }
+
+    @Test
+    @DisplayName("Should return 403 when the uid claim does not match the target user")
+    void checkRequestWithForeignUidClaim() throws Exception {
+        var token = jwt().jwt(builder -> builder.subject(owner.getEmail()).claim(USER_ID_CLAIM, owner.getId() + 1));
+        var request = delete("/api/users/" + owner.getId()).with(token);
+
+        mvc.perform(request)
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should authorize DELETE /api/users/{id} from the uid claim")
+    void checkRequestWithOwnUidClaim() throws Exception {
+        var token = jwt().jwt(builder -> builder.subject(owner.getEmail()).claim(USER_ID_CLAIM, owner.getId()));
+        var request = delete("/api/users/" + owner.getId()).with(token);
+
+        mvc.perform(request)
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Should upgrade a legacy password hash on successful login")
+    void checkLegacyHashUpgradedOnLogin() throws Exception {
+        owner.setPasswordHash(new BCryptPasswordEncoder().encode("password"));
+        userRepository.save(owner);
+
+        login(owner.getEmail(), "password");
+
+        var upgraded = userRepository.findById(owner.getId()).orElseThrow();
+        assertThat(upgraded.getPasswordHash()).startsWith("{bcrypt}");
+    }
+
+    private String login(String username, String password) throws Exception {
+        var authRequest = new AuthRequestDto();
+        authRequest.setUsername(username);
+        authRequest.setPassword(password);
+        var loginRequest = post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(authRequest));
+
+        var result = mvc.perform(loginRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
 }
@@ -0,0 +1,186 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.task.TaskFilterDto;
+import hexlet.code.dto.task.TaskPatchDto;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.ModelGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public final class TaskServiceTest {
+
+    private static final long MAX_LISTING_STATEMENTS = 2;
+
+    private static final int MANY_TASKS = 8;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private ReferenceDataCache referenceDataCache;
+
+    private Statistics statistics;
+
+    // statuses, labels and users are kept across tests, so their unique names keep counting
+    private long nextIndex = 1;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    void tearDown() {
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        statusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should list filtered tasks with a constant number of SQL statements")
+    void checkFilteredListingHasNoNPlusOne() {
+        createTasks(2);
+        var fewTasksStatements = countListingStatements();
+
+        createTasks(MANY_TASKS);
+        var manyTasksStatements = countListingStatements();
+
+        assertThat(manyTasksStatements)
+                .isEqualTo(fewTasksStatements)
+                .isLessThanOrEqualTo(MAX_LISTING_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("Should stream tasks with their labels with a constant number of SQL statements")
+    void checkStreamingHasNoNPlusOne() {
+        createTasks(2);
+        var fewTasksStatements = countStreamingStatements();
+
+        createTasks(MANY_TASKS);
+        var manyTasksStatements = countStreamingStatements();
+
+        assertThat(manyTasksStatements)
+                .isEqualTo(fewTasksStatements)
+                .isLessThanOrEqualTo(MAX_LISTING_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("Should reapply a label patch over a concurrent write instead of failing")
+    void checkCommutativePatchRetriedOnConflict() {
+        createTasks(1);
+        var task = taskRepository.findAll().getFirst();
+        var label = labelRepository.save(new Label("retried"));
+        var conflicted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (conflicted.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+                        taskRepository.findById(task.getId()).orElseThrow().setName("Concurrent"))).join();
+            }
+            return invocation.callRealMethod();
+        }).when(referenceDataCache).getLabelsByIds(any());
+
+        var patchDto = TaskPatchDto.builder().addLabelIds(List.of(label.getId())).build();
+        var patched = taskService.patch(task.getId(), patchDto, null);
+
+        assertThat(conflicted).isTrue();
+        assertThat(patched).get().extracting(Task::getName).isEqualTo("Concurrent");
+        var saved = taskRepository.findWithRelationsById(task.getId()).orElseThrow();
+        assertThat(saved.getLabelIds()).contains(label.getId());
+        assertThat(saved.getName()).isEqualTo("Concurrent");
+    }
+
+    private long countStreamingStatements() {
+        var expectedLabels = taskRepository.count();
+        var labelIds = new ArrayList<Long>();
+        statistics.clear();
+        taskService.streamAll(new TaskFilterDto(), row -> labelIds.addAll(row.labelIds()));
+        var statements = statistics.getPrepareStatementCount();
+        assertThat(labelIds).hasSize((int) expectedLabels);
+        return statements;
+    }
+
+    private long countListingStatements() {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status ->
+                taskService.getRows(new TaskFilterDto()).forEach(taskMapper::rowTo));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createTasks(int count) {
+        for (var i = 0; i < count; i++) {
+            var index = nextIndex++;
+            var status = statusRepository.save(TaskStatus.builder()
+                    .name("Status " + index)
+                    .slug("status_" + index)
+                    .build());
+            var assignee = userRepository.save(Instancio.of(modelGenerator.getUserModel()).create());
+            var label = labelRepository.save(new Label("label_" + index));
+
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setIndex(index);
+            task.setTaskStatus(status);
+            task.setAssignee(assignee);
+            task.setLabels(new HashSet<>(Set.of(label)));
+            taskRepository.save(task);
+        }
+    }
+
+}
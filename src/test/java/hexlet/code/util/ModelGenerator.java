@@ -44,6 +44,7 @@ public class ModelGenerator {
 
         userModel = Instancio.of(User.class)
                 .ignore(field(User::getId))
+                .ignore(field(User::getVersion))
                 .ignore(field(User::getCreatedAt))
                 .ignore(field(User::getUpdatedAt))
                 .set(field(User::getPasswordHash), encoder.encode("password"))
@@ -63,6 +64,7 @@ public class ModelGenerator {
 
         taskStatusModel = Instancio.of(TaskStatus.class)
                 .ignore(field(TaskStatus::getId))
+                .ignore(field(TaskStatus::getVersion))
                 .ignore(field(TaskStatus::getCreatedAt))
                 .set(field(TaskStatus::getName), "Test")
                 .set(field(TaskStatus::getSlug), "test")
@@ -70,6 +72,7 @@ public class ModelGenerator {
 
         taskModel = Instancio.of(Task.class)
                 .ignore(field(Task::getId))
+                .ignore(field(Task::getVersion))
                 .ignore(field(Task::getCreatedAt))
                 .ignore(field(Task::getAssignee))
                 .ignore(field(Task::getTaskStatus))
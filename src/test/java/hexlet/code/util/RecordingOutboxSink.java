@@ -0,0 +1,42 @@
+package hexlet.code.util;
+
+import hexlet.code.outbox.OutboxMessage;
+import hexlet.code.outbox.OutboxSink;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps published outbox messages in memory. The state is static because every cached test context runs
+ * its own publisher against the shared database, and any of them may deliver a given event.
+ */
+@Component
+public final class RecordingOutboxSink implements OutboxSink {
+
+    private static final Queue<OutboxMessage> MESSAGES = new ConcurrentLinkedQueue<>();
+
+    private static volatile boolean failing;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        if (failing) {
+            throw new IllegalStateException("Sink is unavailable");
+        }
+        MESSAGES.addAll(messages);
+    }
+
+    public static void clear() {
+        MESSAGES.clear();
+    }
+
+    public static List<OutboxMessage> messages() {
+        return List.copyOf(MESSAGES);
+    }
+
+    public static void setFailing(boolean value) {
+        failing = value;
+    }
+
+}